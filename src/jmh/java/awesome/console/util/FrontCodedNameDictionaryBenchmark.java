@@ -0,0 +1,108 @@
+package awesome.console.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * FrontCodedNameDictionary 基准测试
+ * 对比冻结前的名称索引（文件名到文件集合的 HashMap，与 fileCache 的结构相同）和冻结后的索引（堆外字典加堆上的 ID 数组）。
+ * build 系列报告构建一次索引的耗时，GC 分析器的 gc.alloc.rate.norm 给出每次构建分配的堆内存；
+ * 字典构建的临时分配也计算在内，因此是冻结索引堆占用的上界。lookup 系列报告按名称查找一次的耗时
+ * <p>
+ * 文件对象在两种情况下都由 VFS 持有，不计入测量
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class FrontCodedNameDictionaryBenchmark {
+
+    /** 查找时轮流使用的名称数，为 2 的幂 */
+    private static final int PROBE_COUNT = 1024;
+
+    @Param({"200000"})
+    public int count;
+
+    private List<String> names;
+
+    private Object[] files;
+
+    private Map<String, Set<Object>> map;
+
+    private FrontCodedNameDictionary dictionary;
+
+    /** 已有名称和不存在的名称各占一半 */
+    private String[] probes;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        files = new Object[count];
+        names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            files[i] = new Object();
+            names.add(String.format("Module%03dComponent%05d.java", i % 500, i));
+        }
+        names.sort(null);
+        map = buildHashMap();
+        dictionary = FrontCodedNameDictionary.build(names);
+        final Random random = new Random(42);
+        probes = new String[PROBE_COUNT];
+        for (int i = 0; i < PROBE_COUNT; i++) {
+            final String name = names.get(random.nextInt(count));
+            probes[i] = i % 2 == 0 ? name : name.replace(".java", ".kt");
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Set<Object>> buildHashMap() {
+        final Map<String, Set<Object>> result = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            // 索引中的文件名是各自独立的字符串，不与语料共享
+            result.computeIfAbsent(new String(names.get(i)), (key) -> new LinkedHashSet<>()).add(files[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[][] buildDictionary(Blackhole blackhole) {
+        blackhole.consume(FrontCodedNameDictionary.build(names));
+        final int[][] postings = new int[count][];
+        for (int i = 0; i < count; i++) {
+            postings[i] = new int[]{i};
+        }
+        return postings;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Set<Object> lookupHashMap() {
+        return map.get(nextProbe());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int lookupDictionary() {
+        return dictionary.indexOf(nextProbe());
+    }
+
+    private String nextProbe() {
+        return probes[next++ & (PROBE_COUNT - 1)];
+    }
+}
@@ -0,0 +1,76 @@
+package awesome.console.util;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * PathNormalizer 基准测试
+ * 与 resolveFile 原先的实现（Paths.get(base, path).normalize().toString()）对比标准化一个路径的耗时，
+ * 语料由常见路径和由 .、..、空段、普通名称随机组成的路径构成，生成方式与 PathNormalizerTest 的等价性语料相同（不含 NUL）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PathNormalizerBenchmark {
+
+    /** 语料大小，为 2 的幂 */
+    private static final int CORPUS_SIZE = 512;
+
+    private static final String BASE = "/home/user/workspace/project";
+
+    private static final String[] FIXED_CORPUS = {
+            "a/b", "a//b", "a/./b", "a/../b", "../a", "/a/b/../c", "./src/../src/Main.java",
+            "src/main/java/Main.java", "../other-project/build.gradle", "/./a/./", "a/b/../../..",
+    };
+
+    private String[] corpus;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final List<String> paths = new ArrayList<>(List.of(FIXED_CORPUS));
+        final String[] segments = {"a", "b.txt", "src", ".", "..", "", "...", ".hidden"};
+        final Random random = new Random(42);
+        while (paths.size() < CORPUS_SIZE) {
+            final StringBuilder path = new StringBuilder();
+            if (random.nextInt(3) == 0) {
+                path.append('/');
+            }
+            final int count = 1 + random.nextInt(6);
+            for (int j = 0; j < count; j++) {
+                if (j > 0) {
+                    path.append('/');
+                }
+                path.append(segments[random.nextInt(segments.length)]);
+            }
+            paths.add(path.toString());
+        }
+        corpus = paths.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public String pathNormalizer() {
+        return PathNormalizer.normalize(BASE, nextPath(), false).path();
+    }
+
+    @Benchmark
+    public String pathsNormalize() {
+        final String path = nextPath();
+        return Paths.get(path.startsWith("/") ? "" : BASE, path).normalize().toString();
+    }
+
+    private String nextPath() {
+        return corpus[next++ & (CORPUS_SIZE - 1)];
+    }
+}
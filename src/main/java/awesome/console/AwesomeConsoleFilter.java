@@ -0,0 +1,41 @@
+package awesome.console;
+
+import awesome.console.util.HyperlinkInfoInterner;
+import com.intellij.execution.filters.Filter;
+import com.intellij.openapi.project.DumbAware;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 单个控制台的过滤器
+ * 每个控制台视图持有自己的实例，控制台相关的标识保存在不可变字段中，
+ * 实际的匹配和文件查找委托给项目共享的 {@link AwesomeLinkFilter}，多个控制台可以并发过滤而不共享可变状态
+ * 控制台在整个缓冲区内持有生成的超链接信息，重复出现的链接通过本控制台的驻留缓存共享同一实例
+ */
+public final class AwesomeConsoleFilter implements Filter, DumbAware {
+
+	/** 项目共享的索引 */
+	private final AwesomeLinkFilter index;
+
+	/** 是否为终端，终端不支持忽略样式 */
+	private final boolean terminal;
+
+	/** 本控制台的超链接驻留缓存 */
+	private final HyperlinkInfoInterner links;
+
+	AwesomeConsoleFilter(@NotNull final AwesomeLinkFilter index, final boolean terminal) {
+		this.index = index;
+		this.terminal = terminal;
+		this.links = index.newLinkInterner();
+	}
+
+	@Nullable
+	@Override
+	public Result applyFilter(@NotNull final String line, final int entireLength) {
+		return index.applyFilter(line, entireLength, terminal, links);
+	}
+
+	public boolean isTerminal() {
+		return terminal;
+	}
+}
@@ -0,0 +1,27 @@
+package awesome.console;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.ProjectActivity;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 项目打开后的索引预热活动
+ * 在项目打开时提前创建 AwesomeLinkFilter，使文件索引在后台开始构建，
+ * 而不是等到第一个控制台请求过滤器时才在该线程上构建
+ */
+public class AwesomeIndexWarmUpActivity implements ProjectActivity, DumbAware {
+
+	@Nullable
+	@Override
+	public Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
+		if (!project.isDisposed()) {
+			// 创建过滤器会触发后台索引构建，构建完成前过滤器以降级模式工作
+			AwesomeLinkFilterProvider.getFilter(project);
+		}
+		return Unit.INSTANCE;
+	}
+}
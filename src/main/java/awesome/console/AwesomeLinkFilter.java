@@ -8,28 +8,56 @@ import awesome.console.config.AwesomeConsoleConfigListener;
 import awesome.console.config.AwesomeConsoleStorage;
 import awesome.console.match.FileLinkMatch;
 import awesome.console.match.URLLinkMatch;
+import awesome.console.util.FileIdSnapshot;
 import awesome.console.util.FileUtils;
+import awesome.console.util.HotNameCache;
+import awesome.console.util.HyperlinkInfoInterner;
 import awesome.console.util.HyperlinkUtils;
+import awesome.console.util.IgnoreDirectoryRules;
 import awesome.console.util.IntegerUtil;
 import awesome.console.util.Notifier;
+import awesome.console.util.PathIndexedSet;
+import awesome.console.util.PathNormalizer;
+import awesome.console.util.RealPathCache;
 import awesome.console.util.RegexUtils;
 import awesome.console.util.SystemUtils;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
-import com.intellij.execution.filters.Filter;
+import java.util.function.Supplier;
+import com.intellij.execution.filters.Filter.Result;
+import com.intellij.execution.filters.Filter.ResultItem;
 import com.intellij.execution.filters.HyperlinkInfo;
 import com.intellij.ide.browsers.OpenUrlHyperlinkInfo;
 import com.intellij.notification.NotificationAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.markup.TextAttributes;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.LowMemoryWatcher;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileFilter;
 import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.openapi.vfs.newvfs.ManagingFS;
+import com.intellij.openapi.wm.IdeFocusManager;
+import com.intellij.openapi.wm.IdeFrame;
 import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
 import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
 import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
 import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
@@ -39,18 +67,37 @@ import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
 import com.intellij.util.PathUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.openapi.application.ApplicationManager;
-import java.nio.file.InvalidPathException;
-import java.nio.file.Paths;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaResourceRootType;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+import org.jetbrains.jps.model.module.JpsModuleSourceRootType;
 
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Awesome Link Filter 核心过滤器类
@@ -64,8 +111,9 @@ import java.util.stream.Collectors;
  * 4. 支持完全限定类名的识别
  * 5. 支持自定义忽略模式
  * */
-// 定义公共类 AwesomeLinkFilter，实现 Filter 接口（控制台过滤器）、DumbAware 接口（支持在索引更新期间运行）、Disposable 接口（资源管理）和 AwesomeConsoleConfigListener 接口（配置变更监听）
-public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, AwesomeConsoleConfigListener {
+// 定义公共类 AwesomeLinkFilter，实现 DumbAware 接口（支持在索引更新期间运行）、Disposable 接口（资源管理）和 AwesomeConsoleConfigListener 接口（配置变更监听）
+// 本身不是控制台过滤器，控制台通过各自的 AwesomeConsoleFilter 调用 applyFilter
+public class AwesomeLinkFilter implements DumbAware, Disposable, AwesomeConsoleConfigListener {
 	/**
 	 * 日志记录器
 	 * 声明私有静态final日志记录器，用于记录此类的调试和错误信息
@@ -255,14 +303,30 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	private final AwesomeConsoleStorage config;
 
 	/** 文件名缓存（key为完整文件名） */
-	// 声明私有final成员变量，存储文件名到虚拟文件列表的映射
+	// 声明私有volatile成员变量，存储文件名到虚拟文件集合的映射
 	// key 为完整文件名（包含扩展名，如 "MyClass.java"），value 为匹配该文件名的所有文件
-	private final Map<String, List<VirtualFile>> fileCache;
+	// value 使用按插入顺序的 LinkedHashSet，增删均为 O(1)，且候选文件顺序保持稳定
+	// 快照重建时会在写锁内整体替换，因此不是 final
+	// 完整构建后转入 frozenFileNames，此后只保存增量新增的文件
+	private volatile Map<String, Set<VirtualFile>> fileCache;
+
+	/** 冻结的文件名索引，完整构建后 fileCache 转入其中，移除的文件在查询时按 dirIndex 过滤 */
+	private volatile FrozenNameIndex frozenFileNames = FrozenNameIndex.EMPTY;
 
 	/** 文件基础名缓存（key为不含扩展名的文件名） */
-	// 声明私有final成员变量，存储文件基础名到虚拟文件列表的映射
+	// 声明私有volatile成员变量，存储文件基础名到虚拟文件集合的映射
 	// key 为不含扩展名的文件名（如 "MyClass"），用于支持完全限定类名的查找
-	private final Map<String, List<VirtualFile>> fileBaseCache;
+	private volatile Map<String, Set<VirtualFile>> fileBaseCache;
+
+	/** 冻结的基础名索引，完整构建后 fileBaseCache 转入其中，fileBaseCache 此后只保存增量新增的文件 */
+	private volatile FrozenNameIndex frozenBaseNames = FrozenNameIndex.EMPTY;
+
+	/** 父目录索引（key为父目录路径，按路径排序） */
+	// key 为父目录的 VFS 路径，value 为该目录下直接包含的已缓存文件，按文件名索引，按路径查找文件时直接定位
+	// 目录删除、移动、重命名时通过前缀区间定位整个子树，只更新受影响的条目
+	// 随增删精确更新，也是判断冻结索引中的文件是否仍在索引中的依据
+	// 只在持有写锁时修改，查询在读锁内读取
+	private volatile NavigableMap<String, Map<String, VirtualFile>> dirIndex;
 
 	/** 项目实例 */
 	// 声明私有final成员变量，存储当前 IntelliJ IDEA 项目的引用
@@ -273,6 +337,27 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	// 使用 volatile 确保多线程可见性，初始化为空列表
 	private volatile List<String> srcRoots = Collections.emptyList();
 
+	/** 同名候选文件的排序规则，随项目根目录一起替换，冻结名称索引时使用 */
+	private volatile CandidateRanking candidateRanking = CandidateRanking.NONE;
+
+	/**
+	 * 当前索引内容过滤时使用的忽略配置
+	 * 与当前配置一致时索引中不含被忽略的文件，查询时不必再逐个检查
+	 */
+	private volatile IgnoreSignature indexedIgnoreSignature;
+
+	/** 忽略配置的快照 */
+	private record IgnoreSignature(boolean enabled, String pattern) { }
+
+	/** 当前索引所对应的项目根目录，根目录变更时与新的根目录比较，只处理变化的子树 */
+	private volatile ProjectRootsSnapshot indexedRoots;
+
+	/** 项目根目录和内容根组成的根目录表，根目录变更时随 indexedRoots 一起替换 */
+	private volatile ContentRootTable rootTable = ContentRootTable.EMPTY;
+
+	/** 排除目录组成的根目录表，排除目录下的结构变更（如构建输出）不计入项目结构修改计数 */
+	private volatile ContentRootTable excludedRootTable = ContentRootTable.EMPTY;
+
 	/** 文件路径匹配器（线程本地） */
 	// 声明私有final线程本地变量，为每个线程创建独立的文件路径匹配器
 	// 使用 ThreadLocal 避免多线程共享 Matcher 导致的线程安全问题
@@ -312,16 +397,154 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	// 同一时刻只有一个线程可以持有写锁，用于修改缓存（如重新加载、添加或删除文件）
 	private final ReentrantReadWriteLock.WriteLock cacheWriteLock = cacheLock.writeLock();
 
+	/** 索引代数，每次获取写锁（即任何缓存修改）时递增，使热点名称缓存失效 */
+	private final AtomicLong indexGeneration = new AtomicLong(0);
+
+	/**
+	 * 文件名代数，只在整体替换索引的文件名时（发布、重新过滤、恢复、清空，在写锁内）递增，词评分数据以它为准；
+	 * 增量新增的文件名直接写入评分数据，增量删除不递增
+	 */
+	private final AtomicLong nameGeneration = new AtomicLong(0);
+
+	/** 热点名称缓存的容量 */
+	private static final int HOT_NAME_CACHE_CAPACITY = 512;
+
+	/** 热点名称缓存：同一文件名和匹配路径最终得到的候选文件列表，频率感知淘汰 */
+	private final HotNameCache<HotNameKey, List<VirtualFile>> hotNames = new HotNameCache<>(HOT_NAME_CACHE_CAPACITY);
+
+	/** 热点名称缓存的键，包含影响候选结果的配置 */
+	private record HotNameKey(String fileName, String matchPath, int limit, boolean searchClasses, IgnoreSignature ignore) { }
+
+	/** 路径匹配项的可信度评分，跳过不可能是文件的词 */
+	private final TokenScorer tokenScorer = new TokenScorer();
+
+	/** 是否已经安排了一次评分数据的后台重建 */
+	private final AtomicBoolean tokenScorerRebuildScheduled = new AtomicBoolean(false);
+
 	/** 项目文件索引迭代器 */
-	// 声明私有final成员变量，存储项目文件迭代器
+	// 声明私有volatile成员变量，存储项目文件迭代器
 	// 用于遍历项目中的所有文件，并将它们添加到 fileCache 和 fileBaseCache 中
-	private final AwesomeProjectFilesIterator indexIterator;
+	// 快照重建替换缓存 Map 时一并替换
+	private volatile AwesomeProjectFilesIterator indexIterator;
+
+	/** VFS 事件合并窗口（毫秒），窗口内的事件合并为一批在后台处理 */
+	private static final long VFS_EVENT_DEBOUNCE_MS = 300;
+
+	/** 重新过滤时在锁外构建新索引的最大尝试次数，超过后退回到后台完整重建 */
+	private static final int REFILTER_MAX_ATTEMPTS = 3;
+
+	/** 正在进行的重建数量，重建期间到达的 VFS 事件会延后到新索引发布之后再处理 */
+	private final AtomicInteger rebuildsInProgress = new AtomicInteger(0);
+
+	/** 重建进行中到达的根目录同步请求，等所有重建结束后再执行 */
+	private final AtomicBoolean rootsReconciliationDeferred = new AtomicBoolean(false);
+
+	/** 等待执行的后台重建请求原因，多个请求合并为一次重建 */
+	private final AtomicReference<String> pendingRebuildReason = new AtomicReference<>();
+
+	/** 是否有线程正在执行后台重建 */
+	private final AtomicBoolean backgroundRebuildRunning = new AtomicBoolean(false);
+
+	/** 重建代数，每次新的重建请求递增，使正在进行的后台重建失效 */
+	private final AtomicInteger rebuildGeneration = new AtomicInteger(0);
+
+	/** 超链接配置代数，配置变化时递增，使各控制台驻留的超链接信息失效 */
+	private final AtomicInteger hyperlinkGeneration = new AtomicInteger(0);
+
+	/** 各控制台超链接驻留缓存共享的命中计数 */
+	private final LongAdder linkInternHits = new LongAdder();
+
+	/** 各控制台超链接驻留缓存共享的未命中计数 */
+	private final LongAdder linkInternMisses = new LongAdder();
+
+	/** 被忽略路径的占位超链接，点击时不做任何事，所有忽略项共享 */
+	private static final HyperlinkInfo IGNORED_LINK = __ -> {};
+
+	/** 最近一次构建中因扩展名不在范围内而未加入基础名缓存的文件数 */
+	private volatile int lastSkippedBaseNameCount = 0;
+
+	/**
+	 * 基础名缓存中每个文件的估算内存占用（字节）
+	 * 集合条目约 40 字节，另按约三分之一的文件带来新 key（String、Map 节点和集合本身）分摊
+	 */
+	private static final int ESTIMATED_BASE_NAME_ENTRY_BYTES = 96;
+
+	/** 当前索引构建阶段 */
+	private volatile IndexPhase indexPhase = IndexPhase.NOT_BUILT;
+
+	/** 索引生命周期状态 */
+	private volatile IndexLifecycleState lifecycleState = IndexLifecycleState.COLD;
+
+	/** 空闲检查间隔（毫秒） */
+	private static final long IDLE_CHECK_INTERVAL_MS = 60_000;
+
+	/** 空闲检查任务，dispose 时取消 */
+	private volatile ScheduledFuture<?> idleCheckTask;
+
+	/** 重建请求的静默期（毫秒），期间持续到达的请求合并为一次重建 */
+	private static final int REBUILD_QUIET_PERIOD_MS = 1000;
+
+	/** 合并队列中完整重建和根目录同步的更新标识，相同标识的更新合并为一次 */
+	private static final String REBUILD_UPDATE_ID = "rebuild";
+	private static final String ROOTS_UPDATE_ID = "roots";
+
+	/** 重建请求合并队列，dumb mode 退出、根目录变更和配置变更的重建请求都经由此队列 */
+	private MergingUpdateQueue rebuildQueue;
+
+	/** 静默期内累积的重建原因 */
+	private final Set<String> requestedRebuildReasons = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 本项目根目录下的结构修改计数
+	 * VFS 监听器只对路径在本项目根目录下的新增、删除、复制、移动和重命名事件递增，
+	 * 其他项目和 IDE 系统目录中的变化不影响它
+	 */
+	private final AtomicLong projectStructureStamp = new AtomicLong(0);
+
+	/** 上次构建开始时的项目结构修改计数，未变化说明文件集合没有增删 */
+	private volatile long indexedStructureStamp = -1;
+
+	/** 上次构建开始时的项目根目录修改计数，未变化说明内容根和源代码根没有变更 */
+	private volatile long indexedRootsStamp = -1;
+
+	/** 低内存时可以挂起索引的最短不活动时间（毫秒），期间有控制台输出的项目视为活动项目 */
+	private static final long INDEX_INACTIVE_THRESHOLD_MS = 60_000;
+
+	/** 最后一次活动的时间：处理控制台输出，或空闲检查时项目窗口拥有焦点（如正在编辑） */
+	private volatile long lastActivity = System.currentTimeMillis();
+
+	/** 索引是否因低内存而挂起，挂起期间以降级模式工作，控制台再次输出时从快照恢复 */
+	private volatile boolean indexSuspended = false;
+
+	/** 是否已经安排了一次索引恢复 */
+	private final AtomicBoolean restoreScheduled = new AtomicBoolean(false);
+
+	/** 挂起时的项目根目录修改计数，恢复时未变化才能使用快照 */
+	private volatile long suspendedRootsStamp = -1;
+
+	/** 是否记录挂起期间的结构变更路径，从开始挂起记录到开始恢复 */
+	private volatile boolean recordingSuspendedChanges = false;
+
+	/** 挂起期间本项目内容中发生新增、删除、移动或重命名的路径，恢复快照后只重新扫描这些路径 */
+	private final Set<String> suspendedChangePaths = ConcurrentHashMap.newKeySet();
+
+	/** 挂起期间记录的路径数超过 VFS 批处理阈值，恢复时改为完整重建 */
+	private volatile boolean suspendedChangesOverflow = false;
+
+	/** 是否已释放，释放后不再处理排队中的 VFS 事件 */
+	private volatile boolean disposed = false;
 
 	/** 缓存是否已初始化 */
 	// 声明私有volatile成员变量，标记缓存是否已经初始化
 	// 使用 volatile 确保多线程可见性，初始值为 false
 	private volatile boolean cacheInitialized = false;
 
+	/** 过滤器创建时间，用于统计首次处理控制台输出和索引就绪的耗时 */
+	private final long createdAt = System.currentTimeMillis();
+
+	/** 是否已处理过第一行控制台输出 */
+	private final AtomicBoolean firstLineProcessed = new AtomicBoolean(false);
+
 	/** 最后一次重建索引的时间戳（毫秒） */
 	private volatile long lastRebuildTime = 0;
 
@@ -331,10 +554,26 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	/** 忽略的文件数量（在重建过程中统计） */
 	private volatile int ignoredFilesCount = 0;
 
-	/** 是否为终端环境（线程本地） */
-	// 声明公共final线程本地变量，标记当前线程是否在终端环境中运行
-	// 终端和控制台视图的行为有所不同，需要区别处理，默认为 false
-	public final ThreadLocal<Boolean> isTerminal = ThreadLocal.withInitial(() -> false);
+	/** 整棵跳过的被忽略目录数量（在重建过程中统计） */
+	private volatile int prunedDirectoriesCount = 0;
+
+	/** 基础名缓存是否已构建，类搜索关闭时不维护 fileBaseCache */
+	private volatile boolean baseNameIndexBuilt = false;
+
+	/**
+	 * 被忽略文件的旁路索引，忽略模式变化时据此重新过滤而无需遍历 VFS，只在持有写锁时读写
+	 * 与父目录索引一样按父目录路径排序，目录删除、移动或重命名时按前缀区间移除子树
+	 */
+	private volatile PathIndexedSet<VirtualFile> ignoredFiles = new PathIndexedSet<>(VirtualFile::getPath);
+
+	/** 索引阶段整棵跳过的目录，忽略模式放宽后只需遍历这些子树，只在持有写锁时读写，按父目录路径排序 */
+	private volatile PathIndexedSet<VirtualFile> prunedDirectories = new PathIndexedSet<>(VirtualFile::getPath);
+
+	/** 由当前忽略模式分析出的目录级规则，忽略模式变化时重新分析 */
+	private volatile IgnoreDirectoryRules ignoreDirectoryRules = IgnoreDirectoryRules.NONE;
+
+	/** VFS 事件监听器，负责排队并分批增量更新缓存 */
+	private volatile FileCacheUpdateListener fileCacheUpdateListener;
 
 	/** MessageBus 连接，用于订阅项目级别事件（DumbMode、VFS） */
 	// 声明私有volatile成员变量，存储 Project 级别的 MessageBus 连接引用
@@ -360,12 +599,16 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		this.fileCache = new ConcurrentHashMap<>();
 		// 初始化文件基础名缓存为线程安全的 ConcurrentHashMap
 		this.fileBaseCache = new ConcurrentHashMap<>();
-		// 创建项目文件迭代器，传入两个缓存 Map，用于遍历项目文件并填充缓存
-		this.indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache);
+		// 初始化父目录索引，只在写锁内访问，使用按路径排序的 TreeMap
+		this.dirIndex = new TreeMap<>();
+		// 创建项目文件迭代器，传入缓存 Map，用于遍历项目文件并填充缓存
+		this.indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache, dirIndex);
 		// 获取项目根管理器实例，用于访问项目的根目录和文件索引
 		projectRootManager = ProjectRootManager.getInstance(project);
 		// 获取配置存储实例，用于访问插件的配置选项
 		config = AwesomeConsoleStorage.getInstance();
+		// 索引构建前只有项目根目录，构建时加入所有内容根
+		rootTable = ContentRootTable.of(project.getBasePath(), List.of());
 
 		// 创建文件缓存并设置监听器，开始索引项目文件
 		createFileCache();
@@ -373,20 +616,30 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 	/**
 	 * 应用过滤器到控制台输出的一行
+	 * 由每个控制台各自的 {@link AwesomeConsoleFilter} 调用，终端标识和超链接驻留缓存随调用传入，不保存在共享状态中
 	 *
 	 * @param line 控制台输出的一行文本
 	 * @param endPoint 该行在整个控制台输出中的结束位置
+	 * @param terminal 是否在终端中
+	 * @param links 控制台的超链接驻留缓存
 	 * @return 包含所有匹配结果的Result对象，如果没有匹配则返回null
 	 */
-	// 使用 @Nullable 注解标记返回值可以为 null
 	@Nullable
-	// 使用 @Override 注解标记此方法重写了 Filter 接口的方法
-	@Override
-	// 定义公共方法 applyFilter，这是过滤器的核心方法，处理控制台输出的每一行
-	public Result applyFilter(@NotNull final String line, final int endPoint) {
+	Result applyFilter(@NotNull final String line, final int endPoint, final boolean terminal, @NotNull final HyperlinkInfoInterner links) {
 		// 使用 try-catch 块捕获业务异常，避免过滤器崩溃导致控制台无法正常工作
 		// 注意：只捕获 Exception，让严重错误（OutOfMemoryError、StackOverflowError 等）能够正常抛出
 		try {
+			// 记录从项目打开到第一次处理控制台输出的耗时，以及此时索引是否已就绪
+			if (firstLineProcessed.compareAndSet(false, true)) {
+				logger.info(String.format("project[%s]: first console line after %dms, index ready[%b]",
+						project.getName(), System.currentTimeMillis() - createdAt, cacheInitialized));
+			}
+			// 控制台再次活动时恢复因低内存挂起的索引
+			lastActivity = System.currentTimeMillis();
+			if (indexSuspended) {
+				scheduleIndexRestore();
+			}
+
 			// 判断是否应该对该行应用过滤器（检查是否为堆栈跟踪行，以及是否启用了文件或URL搜索）
 			if (!shouldFilter(line)) {
 				// 如果不需要过滤，直接返回 null
@@ -425,7 +678,7 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 				// 如果启用了文件搜索，提取文件路径并生成超链接
 				if (config.searchFiles) {
 					try {
-						results.addAll(extractFileLinksFromLine(chunk, startPoint + offset));
+						results.addAll(extractFileLinksFromLine(chunk, startPoint + offset, terminal, links));
 					} catch (Exception e) {
 						logger.error(String.format(
 							"Error while processing file links in chunk %d/%d (offset=%d, chunkLength=%d): %s",
@@ -438,7 +691,7 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 				// 如果启用了URL搜索，提取URL并生成超链接
 				if (config.searchUrls) {
 					try {
-						results.addAll(extractUrlLinksFromLine(chunk, startPoint + offset));
+						results.addAll(extractUrlLinksFromLine(chunk, startPoint + offset, links));
 					} catch (Exception e) {
 						logger.error(String.format(
 							"Error while processing URL links in chunk %d/%d (offset=%d, chunkLength=%d): %s",
@@ -647,14 +900,14 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 	/**
 	 * 从行中提取URL链接并生成结果项
-	 * 识别各种协议的 URL（http、https、ftp、git、file 等）
-	 * 为每个识别到的 URL 创建可点击的超链接
+	 * 识别各种协议的 URL（http、https、ftp、git、file 等），为每个识别到的 URL 创建可点击的超链接，相同 URL 共享超链接信息
 	 *
 	 * @param line 要处理的行
 	 * @param startPoint 该行在整个控制台输出中的起始位置
-	 * @return URL链接结果项列表，每个结果项包含超链接信息和位置
+	 * @param links 超链接驻留缓存
+	 * @return URL链接结果项列表
 	 */
-	public List<ResultItem> extractUrlLinksFromLine(final String line, final int startPoint) {
+	List<ResultItem> extractUrlLinksFromLine(final String line, final int startPoint, final HyperlinkInfoInterner links) {
 		final List<ResultItem> results = new ArrayList<>();
 		final List<URLLinkMatch> matches = detectURLs(line);
 
@@ -665,7 +918,7 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 			}
 
 			// 标准化协议处理
-			String normalizedUrl = normalizeUrlProtocol(url);
+			final String normalizedUrl = normalizeUrlProtocol(url);
 			if (normalizedUrl == null) {
 				continue; // 不支持的协议
 			}
@@ -675,7 +928,9 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
             if (null != file && !FileUtils.quickExists(file)) {
                 continue;
             }
-		    addHyperlinkToResults(results, startPoint + match.start, startPoint + match.end, new OpenUrlHyperlinkInfo(normalizedUrl));
+		    final HyperlinkInfo linkInfo = links.intern(HyperlinkInfoInterner.urlKey(normalizedUrl), hyperlinkGeneration.get(),
+				    () -> new OpenUrlHyperlinkInfo(normalizedUrl));
+		    addHyperlinkToResults(results, startPoint + match.start, startPoint + match.end, linkInfo);
 	    }
 	    return results;
 	}
@@ -715,57 +970,35 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 */
 	// 定义私有方法，解析文件路径，将相对路径转换为绝对路径
 	private File resolveFile(@NotNull String path) {
-		// 标准化路径，将反斜杠转换为正斜杠
-		path = normalizePathSeparators(path);
-		// when changing the size of Terminal on Windows, the input may contain the '\0'
-		// 当在 Windows 上调整终端大小时，输入可能包含 '\0' 字符
-		if (path.contains("\0")) {
-			// 移除 '\0' 字符
-			path = path.replace("\0", "");
-		}
-
-		// 如果是 UNC 路径（如 \\\\server\\share），返回 null（不支持）
-		if (FileUtils.isUncPath(path)) {
-			return null;
-		}
-		// 如果是绝对路径，基础路径为空；否则使用项目根目录作为基础路径
-		String basePath = StringUtil.defaultIfEmpty(isAbsolutePath(path) ? null : project.getBasePath(), "");
-		try {
-			// if basePath is empty, path is assumed to be absolute.
-			// resolve "." and ".." in the path, but the symbolic links are followed
-			// 如果基础路径为空，路径被假定为绝对路径
-			// 解析路径中的 "." 和 ".." ，但会跟随符号链接
-			return new File(Paths.get(basePath, path).normalize().toString());
-		} catch (InvalidPathException e) {
-			// 记录错误日志，包含路径和基础路径信息
-			logger.error(String.format("Unable to resolve file path: \"%s\" with basePath \"%s\"", path, basePath));
-			logger.error(e);
-			// 返回 null 表示解析失败
+		// 相对路径基于项目根目录解析，绝对路径忽略基础路径
+		final String basePath = rootTable.getBasePath();
+		// 单遍完成分隔符统一、'\0' 移除（在 Windows 上调整终端大小时，输入可能包含 '\0' 字符）、"." 和 ".." 的解析，
+		// 不跟随符号链接；UNC 路径（如 \\\\server\\share）和非法字符以原因码返回，不抛出异常
+		final PathNormalizer.Result normalized = PathNormalizer.normalize(basePath, path);
+		if (!normalized.isOk()) {
+			logger.debug(String.format("project[%s]: Unable to resolve file path: \"%s\" with basePath \"%s\" (%s)",
+					project.getName(), path, basePath, normalized.reason()));
 			return null;
 		}
+		return new File(normalized.path());
 	}
 
 	/**
 	 * 判断文件是否在项目外部
-	 * 通过比较文件的绝对路径与项目根路径来判断
+	 * 通过根目录表查找文件所属的项目根目录或内容根来判断
 	 *
 	 * @param file 要判断的文件
 	 * @return 如果文件在项目外部则返回true，如果在项目内或无法判断则返回false
 	 */
 	// 定义私有方法，判断文件是否在项目外部
 	private boolean isExternal(@NotNull File file) {
-		// 获取项目根目录路径
-		String basePath = project.getBasePath();
-		// 如果项目根目录为 null（默认项目），返回 false
-		if (null == basePath) {
+		final ContentRootTable roots = rootTable;
+		// 没有任何根目录（默认项目）时无法判断，返回 false
+		if (roots.size() == 0) {
 			return false;
 		}
-		// 确保基础路径以斜杠结尾，便于前缀匹配
-		if (!basePath.endsWith("/")) {
-			basePath += "/";
-		}
-		// 如果文件的绝对路径不以项目根目录开头，则该文件在项目外部
-		return !normalizePathSeparators(file.getAbsolutePath()).startsWith(basePath);
+		// 不在项目根目录和任何内容根之下的文件在项目外部
+		return !roots.isUnderRoot(normalizePathSeparators(file.getAbsolutePath()));
 	}
 
 	/**
@@ -780,31 +1013,89 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 *
 	 * @param line 要处理的行
 	 * @param startPoint 该行在整个控制台输出中的起始位置
+	 * @param terminal 是否在终端中，终端不支持忽略样式
+	 * @param links 超链接驻留缓存
 	 * @return 文件路径结果项列表，每个结果项包含超链接信息、位置和样式
 	 */
-	public List<ResultItem> extractFileLinksFromLine(final String line, final int startPoint) {
+	List<ResultItem> extractFileLinksFromLine(final String line, final int startPoint, final boolean terminal, final HyperlinkInfoInterner links) {
 		final List<ResultItem> results = new ArrayList<>();
 		final List<FileLinkMatch> matches = detectPaths(line);
 
 		for(final FileLinkMatch match: matches) {
 			// 处理被忽略的匹配项
 			if (shouldIgnore(match.match)) {
-				processIgnoredMatch(match, startPoint, results);
+				processIgnoredMatch(match, startPoint, terminal, results);
+				continue;
+			}
+
+			// 不可能是文件的词不做解析，也不访问磁盘；与缓存查找一样去掉内部类标记 $ 后再评分
+			if (!isPlausibleToken(stripInnerClassMarker(match.path))) {
 				continue;
 			}
 
 			// 尝试处理实际存在的文件
-			if (processExistingFile(match, startPoint, results)) {
+			if (processExistingFile(match, startPoint, links, results)) {
 				continue;
 			}
 
 			// 在缓存中查找匹配的文件
-			processCachedFiles(match, startPoint, results);
+			processCachedFiles(match, startPoint, links, results);
 		}
 
 		return results;
 	}
 
+	/**
+	 * 判断匹配到的词是否可能是文件
+	 * 评分数据属于旧的文件名代数时安排后台重建，重建完成前不跳过任何词
+	 *
+	 * @param token 匹配到的路径
+	 * @return 可能是文件时返回true
+	 */
+	private boolean isPlausibleToken(final String token) {
+		// 索引尚未就绪时无法判断，只能逐个解析
+		if (!cacheInitialized && indexPhase == IndexPhase.NOT_BUILT) {
+			return true;
+		}
+		final long generation = nameGeneration.get();
+		if (tokenScorer.isStale(generation)) {
+			scheduleTokenScorerRebuild();
+		}
+		return tokenScorer.isPlausible(token, generation, config.searchClasses ? maxSearchDepth + 1 : 0);
+	}
+
+	/** 在后台由当前索引的文件名重建评分数据，同一时刻只有一次重建 */
+	private void scheduleTokenScorerRebuild() {
+		if (!tokenScorerRebuildScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		AppExecutorUtil.getAppExecutorService().execute(() -> {
+			try {
+				if (disposed) return;
+				final long generation;
+				final List<String> fileNames;
+				// 在读锁内复制文件名，代数与文件名保持一致；冻结层中文件已全部移除的名称只会让评分更宽松
+				cacheReadLock.lock();
+				try {
+					generation = nameGeneration.get();
+					tokenScorer.beginRebuild();
+					fileNames = new ArrayList<>(frozenFileNames.size() + fileCache.size());
+					frozenFileNames.forEachName(fileNames::add);
+					fileNames.addAll(fileCache.keySet());
+				} finally {
+					cacheReadLock.unlock();
+				}
+				tokenScorer.rebuild(generation, fileNames, rootTable.getBasePath());
+			} catch (Exception e) {
+				// 丢弃重建期间记录的文件名，下次查询时重新安排重建
+				tokenScorer.invalidate();
+				logger.warn(String.format("project[%s]: Failed to rebuild token scorer", project.getName()), e);
+			} finally {
+				tokenScorerRebuildScheduled.set(false);
+			}
+		});
+	}
+
 	/**
 	 * 添加超链接结果到结果列表
 	 *
@@ -834,17 +1125,17 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 *
 	 * @param match 文件链接匹配项
 	 * @param startPoint 起始位置
+	 * @param terminal 是否在终端中
 	 * @param results 结果列表
 	 */
-	private void processIgnoredMatch(final FileLinkMatch match, final int startPoint, final List<ResultItem> results) {
+	private void processIgnoredMatch(final FileLinkMatch match, final int startPoint, final boolean terminal, final List<ResultItem> results) {
 		// TODO: 终端中不支持此功能，因为 JediTerm 不使用 highlightAttributes 参数
 		// 参考: https://github.com/JetBrains/jediterm/blob/78b143010fc53456f2d16eb67572ed23b4a99543/core/src/com/jediterm/terminal/model/hyperlinks/TextProcessing.java#L67-L68
-		if (config.useIgnoreStyle && Boolean.FALSE.equals(isTerminal.get())) {
-			HyperlinkInfo linkInfo = __ -> {};
+		if (config.useIgnoreStyle && !terminal) {
 			TextAttributes attributes = HyperlinkUtils.createIgnoreStyle();
 			results.add(new Result(
 					startPoint + match.start, startPoint + match.end,
-					linkInfo, attributes, attributes
+					IGNORED_LINK, attributes, attributes
 			));
 		}
 	}
@@ -854,11 +1145,24 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 *
 	 * @param match 文件链接匹配项
 	 * @param startPoint 起始位置
+	 * @param links 超链接驻留缓存
 	 * @param results 结果列表
 	 * @return 如果文件存在并已处理则返回true
 	 */
-	private boolean processExistingFile(final FileLinkMatch match, final int startPoint, final List<ResultItem> results) {
+	private boolean processExistingFile(final FileLinkMatch match, final int startPoint, final HyperlinkInfoInterner links, final List<ResultItem> results) {
 		String matchPath = match.path;
+
+		// 相对路径先在父目录索引中精确查找，命中时不访问磁盘
+		final VirtualFile indexedFile = findIndexedFileByRelativePath(matchPath);
+		if (null != indexedFile) {
+			final String indexedPath = indexedFile.getPath();
+			final HyperlinkInfo linkInfo = links.intern(
+					HyperlinkInfoInterner.fileKey(indexedPath, match.linkedRow, match.linkedCol), hyperlinkGeneration.get(),
+					() -> HyperlinkUtils.buildFileHyperlinkInfo(project, indexedPath, match.linkedRow, match.linkedCol)
+			);
+			addHyperlinkToResults(results, startPoint + match.start, startPoint + match.end, linkInfo);
+			return true;
+		}
 		File file = resolveFile(matchPath);
 		
 		if (null == file) {
@@ -866,13 +1170,14 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		}
 
 		final boolean isExternal = isExternal(file);
-		String filePath = file.getAbsolutePath();
+		final String filePath = file.getAbsolutePath();
 		final boolean exists = FileUtils.quickExists(filePath);
 		
 		if (exists) {
 			// 文件存在，创建超链接
-			final HyperlinkInfo linkInfo = HyperlinkUtils.buildFileHyperlinkInfo(
-					project, filePath, match.linkedRow, match.linkedCol
+			final HyperlinkInfo linkInfo = links.intern(
+					HyperlinkInfoInterner.fileKey(filePath, match.linkedRow, match.linkedCol), hyperlinkGeneration.get(),
+					() -> HyperlinkUtils.buildFileHyperlinkInfo(project, filePath, match.linkedRow, match.linkedCol)
 			);
 			addHyperlinkToResults(results, startPoint + match.start, startPoint + match.end, linkInfo);
 			return true;
@@ -884,39 +1189,123 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		return false;
 	}
 
+	/**
+	 * 按项目相对路径（或多内容根项目中相对于内容根的路径）在父目录索引中精确查找文件
+	 * 父目录索引的键是每个目录唯一的路径字符串，查找只需一次按目录的映射查询和一次同级文件名比较，不访问磁盘
+	 *
+	 * @param path 匹配到的路径
+	 * @return 索引中的文件，路径是绝对路径、索引未就绪或未找到时返回null
+	 */
+	@Nullable
+	VirtualFile findIndexedFileByRelativePath(@NotNull String path) {
+		if (!cacheInitialized && indexPhase == IndexPhase.NOT_BUILT) {
+			return null;
+		}
+		path = normalizePathSeparators(path).replace("\0", "");
+		if (path.isEmpty() || isAbsolutePath(path) || FileUtils.isJarPath(path)) {
+			return null;
+		}
+		final ProjectRootsSnapshot roots = indexedRoots;
+		cacheReadLock.lock();
+		try {
+			VirtualFile file = findIndexedFileUnder(rootTable.getBasePath(), path);
+			if (null == file && null != roots) {
+				for (VirtualFile contentRoot : roots.contentRoots()) {
+					file = findIndexedFileUnder(contentRoot.getPath(), path);
+					if (null != file) break;
+				}
+			}
+			return file;
+		} finally {
+			cacheReadLock.unlock();
+		}
+	}
+
+	/**
+	 * 在父目录索引中查找根目录下的相对路径，需要持有读锁
+	 */
+	@Nullable
+	private VirtualFile findIndexedFileUnder(@Nullable String rootPath, @NotNull String relativePath) {
+		if (null == rootPath) {
+			return null;
+		}
+		final String canonicalPath = FileUtil.toCanonicalPath(rootPath + "/" + relativePath);
+		final Map<String, VirtualFile> siblings = dirIndex.get(PathUtil.getParentPath(canonicalPath));
+		if (null == siblings) {
+			return null;
+		}
+		final VirtualFile file = siblings.get(PathUtil.getFileName(canonicalPath));
+		return null != file && file.isValid() ? file : null;
+	}
+
 	/**
 	 * 在缓存中查找匹配的文件并创建超链接
 	 *
 	 * @param match 文件链接匹配项
 	 * @param startPoint 起始位置
+	 * @param links 超链接驻留缓存
 	 * @param results 结果列表
 	 */
-	private void processCachedFiles(final FileLinkMatch match, final int startPoint, final List<ResultItem> results) {
+	private void processCachedFiles(final FileLinkMatch match, final int startPoint, final HyperlinkInfoInterner links, final List<ResultItem> results) {
+		// 索引尚未就绪时处于降级模式，只解析实际存在的文件（见 processExistingFile）
+		// 首次分阶段构建期间已发布的阶段可以直接查询
+		if (!cacheInitialized && indexPhase == IndexPhase.NOT_BUILT) {
+			return;
+		}
+
 		// 解析并标准化匹配路径
 		String matchPath = resolveAndNormalizeMatchPath(match.path);
 		
 		// 提取文件名
 		String fileName = extractFileName(matchPath);
-		
-		// 在缓存中查找匹配的文件
-		List<VirtualFile> matchingFiles = findMatchingFilesInCache(fileName);
-		if (null == matchingFiles || matchingFiles.isEmpty()) {
-			return;
-		}
 
-		// 查找最佳匹配的文件
-		final List<VirtualFile> bestMatchingFiles = findBestMatchingFiles(normalizePathSeparators(matchPath), matchingFiles);
-		if (bestMatchingFiles != null && !bestMatchingFiles.isEmpty()) {
-			matchingFiles = bestMatchingFiles;
+		final List<VirtualFile> candidates = findCandidates(fileName, normalizePathSeparators(matchPath));
+		if (candidates.isEmpty()) {
+			return;
 		}
 
 		// 创建超链接
-		final HyperlinkInfo linkInfo = HyperlinkUtils.buildMultipleFilesHyperlinkInfo(
-				project, matchingFiles, match.linkedRow, match.linkedCol
+		final HyperlinkInfo linkInfo = links.intern(
+				HyperlinkInfoInterner.filesKey(candidates, match.linkedRow, match.linkedCol), hyperlinkGeneration.get(),
+				() -> HyperlinkUtils.buildMultipleFilesHyperlinkInfo(project, candidates, match.linkedRow, match.linkedCol)
 		);
 		addHyperlinkToResults(results, startPoint + match.start, startPoint + match.end, linkInfo);
 	}
 
+	/**
+	 * 查找文件名和匹配路径对应的最终候选文件
+	 * 结果按索引代数缓存在热点名称缓存中，索引未修改时重复出现的名称直接返回上次的结果
+	 *
+	 * @param fileName 文件名
+	 * @param generalizedMatchPath 标准化后的匹配路径
+	 * @return 候选文件，不可修改
+	 */
+	private List<VirtualFile> findCandidates(final String fileName, final String generalizedMatchPath) {
+		final long generation = indexGeneration.get();
+		final HotNameKey key = new HotNameKey(fileName, generalizedMatchPath,
+				config.useResultLimit ? config.getResultLimit() : 0, config.searchClasses, currentIgnoreSignature());
+		final List<VirtualFile> cached = hotNames.get(key, generation);
+		// VFS 事件是延迟批处理的，命中时仍确认文件有效
+		if (null != cached && cached.stream().allMatch(VirtualFile::isValid)) {
+			return cached;
+		}
+
+		// 在缓存中查找匹配的文件
+		List<VirtualFile> matchingFiles = findMatchingFilesInCache(fileName);
+		if (null == matchingFiles || matchingFiles.isEmpty()) {
+			matchingFiles = List.of();
+		} else {
+			// 查找最佳匹配的文件
+			final List<VirtualFile> bestMatchingFiles = findBestMatchingFiles(generalizedMatchPath, matchingFiles);
+			if (bestMatchingFiles != null && !bestMatchingFiles.isEmpty()) {
+				matchingFiles = bestMatchingFiles;
+			}
+			matchingFiles = List.copyOf(matchingFiles);
+		}
+		hotNames.put(key, matchingFiles, generation);
+		return matchingFiles;
+	}
+
 	/**
 	 * 解析并标准化匹配路径，处理外部文件的特殊情况
 	 *
@@ -931,7 +1320,7 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 			final boolean exists = FileUtils.quickExists(filePath);
 			if (!exists && isExternal && isUnixAbsolutePath(matchPath)) {
 				// 作为回退方案，将以斜杠开头的绝对路径解析为基于项目根目录的相对路径
-				filePath = new File(project.getBasePath(), matchPath).getAbsolutePath();
+				filePath = new File(rootTable.getBasePath(), matchPath).getAbsolutePath();
 			}
 			return getRelativePath(filePath);
 		}
@@ -945,11 +1334,17 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 * @return 文件名（移除内部类标记$）
 	 */
 	private String extractFileName(String matchPath) {
-		String fileName = PathUtil.getFileName(matchPath);
-		if (fileName.endsWith("$")) {
-			return fileName.substring(0, fileName.length() - 1);
-		}
-		return fileName;
+		return stripInnerClassMarker(PathUtil.getFileName(matchPath));
+	}
+
+	/**
+	 * 去掉末尾的内部类标记 $（如 com.example.Foo$），查找和评分使用同一个名称
+	 *
+	 * @param name 文件名或匹配到的词
+	 * @return 去掉标记后的名称
+	 */
+	static String stripInnerClassMarker(String name) {
+		return name.endsWith("$") ? name.substring(0, name.length() - 1) : name;
 	}
 
 	/**
@@ -958,21 +1353,29 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 * @param fileName 文件名
 	 * @return 匹配的文件列表，如果没有找到则返回null
 	 */
-	private List<VirtualFile> findMatchingFilesInCache(final String fileName) {
-		List<VirtualFile> matchingFiles;
+	List<VirtualFile> findMatchingFilesInCache(final String fileName) {
+		List<VirtualFile> matchingFiles = null;
+		// 类搜索开启但基础名缓存尚未构建时（如重建时类搜索处于关闭状态），先从 fileCache 补建
+		if (config.searchClasses && !baseNameIndexBuilt) {
+			buildBaseNameIndex("class search enabled");
+		}
 		cacheReadLock.lock();
 		try {
-			matchingFiles = fileCache.get(fileName);
-			if (null == matchingFiles && config.searchClasses) {
-				matchingFiles = findFilesByClassName(fileName);
-			}
-		if (null != matchingFiles) {
-				// 使用统一的 shouldIgnoreFile 方法确保与索引阶段和配置变更处理的一致性
-				matchingFiles = matchingFiles.stream()
-						.filter(VirtualFile::isValid)  // 惰性验证：过滤已失效的文件
-						.filter(f -> !shouldIgnoreFile(f))  // 使用统一的忽略检查方法
-						.limit(config.useResultLimit ? config.getResultLimit() : matchingFiles.size())
-						.collect(Collectors.toList());
+			Collection<VirtualFile> candidates = getFileNameCandidates(fileName);
+			if (candidates.isEmpty()) {
+				candidates = config.searchClasses ? findFilesByClassName(fileName) : null;
+			}
+			if (null != candidates) {
+				// 候选集合在冻结时已按 CandidateRanking 排序（源代码根目录优先、路径短的优先），按此顺序惰性校验，取满上限即停止
+				// 索引按当前忽略配置过滤过时，不必逐个重复检查；配置在索引之后被修改时回退为统一的 shouldIgnoreFile 检查
+				final boolean checkIgnore = !currentIgnoreSignature().equals(indexedIgnoreSignature);
+				final int limit = config.useResultLimit ? config.getResultLimit() : Integer.MAX_VALUE;
+				matchingFiles = new ArrayList<>(Math.min(candidates.size(), limit));
+				for (VirtualFile file : candidates) {
+					if (!file.isValid() || (checkIgnore && shouldIgnoreFile(file))) continue;
+					matchingFiles.add(file);
+					if (matchingFiles.size() >= limit) break;
+				}
 			}
 		} finally {
 			cacheReadLock.unlock();
@@ -981,29 +1384,17 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	}
 
 	/**
-	 * 将绝对路径转换为相对于项目根目录的相对路径
-	 * 如果路径在项目根目录下，则移除项目根路径前缀
+	 * 将绝对路径转换为相对于所属根目录的相对路径
+	 * 如果路径在项目根目录或项目根目录之外的内容根下，则移除该根目录前缀
 	 * 否则返回原路径
 	 *
 	 * @param path 绝对路径
-	 * @return 相对于项目根目录的相对路径，如果不在项目内则返回原路径
+	 * @return 相对于所属根目录的相对路径，如果不在项目内则返回原路径
 	 */
 	// 定义私有方法，将绝对路径转换为相对于项目根目录的相对路径
 	private String getRelativePath(@NotNull String path) {
-		// 标准化路径，将反斜杠转换为正斜杠
-		path = normalizePathSeparators(path);
-		// 获取项目根目录路径
-		String basePath = project.getBasePath();
-		// 如果项目根目录为 null，直接返回原路径
-		if (null == basePath) {
-			return path;
-		}
-		// 确保基础路径以斜杠结尾
-		if (!basePath.endsWith("/")) {
-			basePath += "/";
-		}
-		// 如果路径以项目根目录开头，移除项目根目录前缀；否则返回原路径
-		return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+		// 标准化路径后移除所属根目录的前缀；项目根目录之下的内容根归属项目根目录，不在任何根目录之下时返回原路径
+		return rootTable.relativize(normalizePathSeparators(path));
 	}
 
 	/**
@@ -1129,7 +1520,8 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		if (basename.isEmpty()) {
 			return new ArrayList<>();
 		}
-		if (!fileBaseCache.containsKey(basename)) {
+		final Collection<VirtualFile> candidates = getBaseNameCandidates(basename);
+		if (candidates.isEmpty()) {
 			/* Try to search deeper down the rabbit hole */
 			if (depth <= maxSearchDepth) {
 				return findFilesByClassName(origin, depth + 1);
@@ -1137,12 +1529,110 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 			return new ArrayList<>();
 		}
 
-		return fileBaseCache.get(basename).parallelStream()
+		return candidates.parallelStream()
 			.filter(file -> null != file.getParent())
 			.filter(file -> matchesSourceRoot(file.getParent().getPath(), path))
 			.collect(Collectors.toList());
 	}
 
+	/**
+	 * 获取基础名对应的候选文件
+	 * 合并冻结索引和增量缓存中的文件；冻结索引不随文件移除而更新，
+	 * 已失效、已改名或已移出索引的文件在这里过滤
+	 *
+	 * @param basename 基础名
+	 * @return 候选文件，保持冻结索引在前的顺序
+	 */
+	private Collection<VirtualFile> getBaseNameCandidates(final String basename) {
+		final Set<VirtualFile> candidates = new LinkedHashSet<>();
+		final int[] ids = frozenBaseNames.idsOf(basename);
+		if (ids.length > 0) {
+			final ManagingFS fs = ManagingFS.getInstance();
+			for (int id : ids) {
+				final VirtualFile file = fs.findFileById(id);
+				if (file != null && file.isValid() && basename.equals(file.getNameWithoutExtension()) && isIndexed(file)) {
+					candidates.add(file);
+				}
+			}
+		}
+		final Set<VirtualFile> added = fileBaseCache.get(basename);
+		if (added != null) {
+			candidates.addAll(added);
+		}
+		return candidates;
+	}
+
+	/**
+	 * 获取文件名对应的候选文件
+	 * 合并冻结索引和增量缓存中的文件，过滤方式与 {@link #getBaseNameCandidates} 相同，需要持有读锁
+	 *
+	 * @param fileName 完整文件名
+	 * @return 候选文件，保持冻结索引在前的顺序，没有时返回空集合
+	 */
+	private Collection<VirtualFile> getFileNameCandidates(final String fileName) {
+		final int[] ids = frozenFileNames.idsOf(fileName);
+		final Set<VirtualFile> added = fileCache.get(fileName);
+		if (ids.length == 0) {
+			return null == added ? Collections.emptySet() : added;
+		}
+		final Set<VirtualFile> candidates = new LinkedHashSet<>();
+		final ManagingFS fs = ManagingFS.getInstance();
+		for (int id : ids) {
+			final VirtualFile file = fs.findFileById(id);
+			if (file != null && file.isValid() && fileName.equals(file.getName()) && isIndexed(file)) {
+				candidates.add(file);
+			}
+		}
+		if (added != null) {
+			candidates.addAll(added);
+		}
+		return candidates;
+	}
+
+	/**
+	 * 判断文件当前是否在索引中，需要持有读锁
+	 * 父目录索引随增删精确更新，冻结索引中的条目以它为准；按文件名直接定位，不遍历同目录的文件
+	 */
+	private boolean isIndexed(final VirtualFile file) {
+		final VirtualFile parent = file.getParent();
+		final Map<String, VirtualFile> siblings = null == parent ? null : dirIndex.get(parent.getPath());
+		return null != siblings && file.equals(siblings.get(file.getName()));
+	}
+
+	/**
+	 * 冻结文件名缓存和基础名缓存，需要持有写锁，且两个缓存中包含全部已索引的文件（完整构建或恢复之后）
+	 */
+	private void freezeIndex() {
+		final Map<String, Set<VirtualFile>> remainder = new ConcurrentHashMap<>();
+		frozenFileNames = FrozenNameIndex.freeze(fileCache, remainder, candidateRanking);
+		fileCache = remainder;
+		freezeBaseNameIndex();
+	}
+
+	/**
+	 * 冻结基础名缓存，需要持有写锁
+	 * 替换冻结索引，并将 fileBaseCache 换成只接收之后增量新增文件的新 Map
+	 */
+	private void freezeBaseNameIndex() {
+		final Map<String, Set<VirtualFile>> remainder = new ConcurrentHashMap<>();
+		frozenBaseNames = FrozenNameIndex.freeze(fileBaseCache, remainder, candidateRanking);
+		fileBaseCache = remainder;
+		indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache, dirIndex, baseNameIndexBuilt,
+				config.classFileExtensionSet);
+	}
+
+	/**
+	 * 获取所有垃圾回收器的累计耗时
+	 *
+	 * @return 累计耗时（毫秒）
+	 */
+	private static long totalGcTimeMs() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream()
+				.mapToLong(GarbageCollectorMXBean::getCollectionTime)
+				.filter(time -> time > 0)
+				.sum();
+	}
+
 	/**
 	 * 通知用户
 	 * 显示一个带有操作按钮的通知，用户可以点击按钮手动重新加载文件缓存
@@ -1179,59 +1669,751 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 	/**
 	 * 重建文件缓存（带进度回调）
+	 * 同步执行，完成后新索引已发布
 	 *
 	 * @param reason 重建原因
-	 * @param progressCallback 进度回调函数，参数为已处理的文件数
+	 * @param progressCallback 进度回调函数，参数为已处理的文件数（各阶段累计）
 	 */
 	private void reloadFileCacheWithProgress(String reason, Consumer<Integer> progressCallback) {
-		cacheWriteLock.lock();
-		long startTime = System.currentTimeMillis();
+		// 同步重建覆盖所有等待中的后台重建请求，并使正在进行的后台重建失效
+		pendingRebuildReason.set(null);
+		rebuildGeneration.incrementAndGet();
+		rebuildsInProgress.incrementAndGet();
 		try {
-			srcRoots = getSourceRoots();
-			fileCache.clear();
-			fileBaseCache.clear();
-			ignoredFilesCount = 0;
+			// 同步重建的调用方等待最终回调，只在项目关闭时取消
+			buildFileCacheInPhases(reason, progressCallback, () -> false);
+		} catch (ProcessCanceledException e) {
+			logger.info(String.format("project[%s]: rebuild ( %s ) cancelled", project.getName(), reason));
+		} finally {
+			endRebuild();
+		}
+	}
 
-			// 创建统一的迭代器，支持进度回调和忽略统计
-			ProgressTrackingIterator iterator = new ProgressTrackingIterator(
-					fileCache, fileBaseCache, progressCallback
-			);
-			projectRootManager.getFileIndex().iterateContent(iterator);
+	/**
+	 * 分阶段构建文件缓存
+	 * 依次索引源代码根目录、测试和资源根目录、其余项目内容，每个阶段在不持有写锁的情况下遍历，
+	 * 完成后在写锁内合并到新索引
+	 * <p>
+	 * 尚无可用索引时（首次构建或索引已清除）新索引在开始时即发布，每个阶段合并后立即可查，
+	 * 代码相关的链接可以尽早生效；已有索引时在全部阶段完成后整体替换，重建期间查询继续使用旧索引
+	 *
+	 * <p>
+	 * 遍历在非阻塞读操作中进行：有写操作等待时让出读锁，之后从当前阶段开头重新遍历；
+	 * 项目关闭或 cancelled 成立时抛出 {@link ProcessCanceledException}，已合并的阶段不会回滚，
+	 * 由取代它的重建重新发布
+	 *
+	 * @param reason 重建原因
+	 * @param progressCallback 进度回调函数，可为null
+	 * @param cancelled 本次重建是否已被取代
+	 */
+	private void buildFileCacheInPhases(String reason, Consumer<Integer> progressCallback, BooleanSupplier cancelled) {
+		long startTime = System.currentTimeMillis();
+		final long gcTimeBefore = totalGcTimeMs();
+		// 忽略匹配器是线程本地的，后台线程上需要先准备好，否则索引阶段的忽略过滤不生效
+		prepareFilter();
+		final boolean publishEachPhase = !cacheInitialized;
+		transitionTo(IndexLifecycleState.WARMING, reason);
+		// 在遍历开始前记录修改计数，遍历期间发生的变更会使之后的重建请求不被跳过
+		indexedStructureStamp = projectStructureStamp.get();
+		indexedRootsStamp = projectRootManager.getModificationCount();
+		// 未启用类搜索时不构建基础名缓存，开启后按需从 fileCache 补建
+		final boolean indexBaseNames = config.searchClasses;
+		final IgnoreSignature ignoreSignature = currentIgnoreSignature();
+		final Map<String, Set<VirtualFile>> newFileCache = new ConcurrentHashMap<>();
+		final Map<String, Set<VirtualFile>> newFileBaseCache = new ConcurrentHashMap<>();
+		final NavigableMap<String, Map<String, VirtualFile>> newDirIndex = new TreeMap<>();
+		final PathIndexedSet<VirtualFile> newIgnoredFiles = new PathIndexedSet<>(VirtualFile::getPath);
+		final PathIndexedSet<VirtualFile> newPrunedDirectories = new PathIndexedSet<>(VirtualFile::getPath);
+		final ProjectRootsSnapshot newRoots = computeInIndexReadAction(this::captureProjectRoots, cancelled);
+		final CandidateRanking ranking = newRoots.ranking();
+		final Map<IndexPhase, List<VirtualFile>> phaseRoots = computeInIndexReadAction(this::collectPhaseRoots, cancelled);
+		final Set<VirtualFile> allPhaseRoots = new HashSet<>();
+		phaseRoots.values().forEach(allPhaseRoots::addAll);
+
+		if (publishEachPhase) {
+			lockIndexForWrite();
+			try {
+				publishIndex(newRoots, newFileCache, newFileBaseCache, newDirIndex, indexBaseNames);
+				indexedIgnoreSignature = ignoreSignature;
+				ignoredFiles = newIgnoredFiles;
+				prunedDirectories = newPrunedDirectories;
+				ignoredFilesCount = 0;
+				prunedDirectoriesCount = 0;
+			} finally {
+				cacheWriteLock.unlock();
+			}
+		}
 
-			// 最后一次回调，确保显示最终数量
-			if (progressCallback != null) {
-				progressCallback.accept(getTotalCachedFiles());
+		int processedCount = 0;
+		int skippedBaseNameCount = 0;
+		for (Map.Entry<IndexPhase, List<VirtualFile>> entry : phaseRoots.entrySet()) {
+			final IndexPhase phase = entry.getKey();
+			final long phaseStartTime = System.currentTimeMillis();
+			indexPhase = phase;
+
+			// 每个阶段先写入独立的分段，遍历期间不持有缓存锁；读操作被写操作打断时整段重来
+			final int processedBase = processedCount;
+			final PhaseSegment segment = computeInIndexReadAction(() -> {
+				final Map<String, Set<VirtualFile>> segmentFileCache = new HashMap<>();
+				final Map<String, Set<VirtualFile>> segmentFileBaseCache = new HashMap<>();
+				final NavigableMap<String, Map<String, VirtualFile>> segmentDirIndex = new TreeMap<>();
+				final ProgressTrackingIterator attempt = new ProgressTrackingIterator(
+						segmentFileCache, segmentFileBaseCache, segmentDirIndex, indexBaseNames, progressCallback, processedBase
+				);
+				walkPhase(phase, entry.getValue(), allPhaseRoots, attempt);
+				return new PhaseSegment(segmentFileCache, segmentFileBaseCache, segmentDirIndex, attempt);
+			}, cancelled);
+			final ProgressTrackingIterator iterator = segment.iterator();
+			// 分段是私有的，在写锁外排序，使逐阶段发布的索引在冻结前也大致有序；最终顺序由冻结时的排序决定
+			rankCandidates(segment.fileCache(), ranking);
+			rankCandidates(segment.fileBaseCache(), ranking);
+			processedCount += iterator.getProcessedCount();
+			skippedBaseNameCount += iterator.getSkippedBaseNameCount();
+
+			lockIndexForWrite();
+			try {
+				mergeSegment(segment.fileCache(), newFileCache);
+				mergeSegment(segment.fileBaseCache(), newFileBaseCache);
+				mergeDirectorySegment(segment.dirIndex(), newDirIndex);
+				newIgnoredFiles.addAll(iterator.getIgnoredFiles());
+				newPrunedDirectories.addAll(iterator.getPrunedDirectories());
+				if (publishEachPhase) {
+					// 已发布的缓存中加入了本阶段的文件名
+					nameGeneration.incrementAndGet();
+					ignoredFilesCount = newIgnoredFiles.size();
+					prunedDirectoriesCount = newPrunedDirectories.size();
+				}
+			} finally {
+				cacheWriteLock.unlock();
 			}
+			logger.info(String.format("project[%s]: index phase %s ( %s ): %d root(s), %d file(s), duration[%dms]",
+					project.getName(), phase.getDisplayName(), reason, entry.getValue().size(),
+					iterator.getProcessedCount(), System.currentTimeMillis() - phaseStartTime));
+		}
 
-			// 更新全局忽略计数
-			ignoredFilesCount = iterator.getIgnoredCount();
+		lockIndexForWrite();
+		try {
+			if (!publishEachPhase) {
+				publishIndex(newRoots, newFileCache, newFileBaseCache, newDirIndex, indexBaseNames);
+				indexedIgnoreSignature = ignoreSignature;
+				ignoredFiles = newIgnoredFiles;
+				prunedDirectories = newPrunedDirectories;
+			}
+			freezeIndex();
+			ignoredFilesCount = newIgnoredFiles.size();
+			prunedDirectoriesCount = newPrunedDirectories.size();
+			indexPhase = IndexPhase.COMPLETE;
+			transitionTo(IndexLifecycleState.HOT, reason);
+			lastSkippedBaseNameCount = skippedBaseNameCount;
 
 			// 通知和日志
 			logCacheRebuild(reason, startTime);
 		} finally {
 			cacheWriteLock.unlock();
 		}
+		final Runtime runtime = Runtime.getRuntime();
+		logger.info(String.format("project[%s]: rebuild memory ( %s ): gc[%dms], heap used[%s], name dictionaries off-heap[%s]",
+				project.getName(), reason, totalGcTimeMs() - gcTimeBefore,
+				StringUtil.formatFileSize(runtime.totalMemory() - runtime.freeMemory()),
+				StringUtil.formatFileSize(frozenFileNames.offHeapBytes() + frozenBaseNames.offHeapBytes())));
+
+		// 最后一次回调，确保显示最终数量
+		if (progressCallback != null) {
+			progressCallback.accept(getTotalCachedFiles());
+		}
 	}
 
 	/**
-	 * 记录缓存重建日志和通知
+	 * 按阶段收集需要遍历的根目录
+	 * 源代码根目录优先，其次是测试和资源根目录，其余内容在最后阶段通过 iterateContent 遍历
+	 * 需要在读操作中调用
 	 *
-	 * @param reason 重建原因
-	 * @param startTime 开始时间
+	 * @return 按阶段顺序排列的根目录
 	 */
-	private void logCacheRebuild(String reason, long startTime) {
-		String state = cacheInitialized ? "reload" : "init";
-		if (!cacheInitialized) {
-			String notificationMessage = String.format("fileCache[%d], fileBaseCache[%d]", 
-					fileCache.size(), fileBaseCache.size());
-			if (config.useIgnorePattern && ignoredFilesCount > 0) {
-				notificationMessage += String.format(", ignored[%d]", ignoredFilesCount);
-			}
-			notifyUser(
-					String.format("%s file cache ( %s )", state, reason),
-					notificationMessage
-			);
-			cacheInitialized = true;
+	private Map<IndexPhase, List<VirtualFile>> collectPhaseRoots() {
+		final Map<IndexPhase, List<VirtualFile>> phaseRoots = new EnumMap<>(IndexPhase.class);
+		phaseRoots.put(IndexPhase.SOURCE_ROOTS, projectRootManager.getModuleSourceRoots(
+				Set.<JpsModuleSourceRootType<?>>of(JavaSourceRootType.SOURCE)));
+		phaseRoots.put(IndexPhase.TEST_AND_RESOURCE_ROOTS, projectRootManager.getModuleSourceRoots(
+				Set.<JpsModuleSourceRootType<?>>of(JavaSourceRootType.TEST_SOURCE,
+						JavaResourceRootType.RESOURCE, JavaResourceRootType.TEST_RESOURCE)));
+		phaseRoots.put(IndexPhase.REMAINING_CONTENT, List.of());
+		return phaseRoots;
+	}
+
+	/**
+	 * 遍历一个阶段的内容
+	 * 其他阶段负责的根目录不在本阶段进入，避免嵌套的根目录被重复遍历
+	 * 需要在读操作中调用
+	 *
+	 * @param phase 阶段
+	 * @param roots 本阶段的根目录，最后阶段为空并遍历全部项目内容
+	 * @param allPhaseRoots 所有按根目录遍历的阶段的根目录
+	 * @param iterator 本阶段的迭代器
+	 */
+	private void walkPhase(IndexPhase phase, List<VirtualFile> roots, Set<VirtualFile> allPhaseRoots,
+						   ProgressTrackingIterator iterator) {
+		final ProjectFileIndex fileIndex = projectRootManager.getFileIndex();
+		if (phase == IndexPhase.REMAINING_CONTENT) {
+			fileIndex.iterateContent(iterator, file -> !allPhaseRoots.contains(file) && iterator.accept(file));
+			return;
+		}
+		for (VirtualFile root : roots) {
+			if (!root.isValid()) continue;
+			fileIndex.iterateContentUnderDirectory(root, iterator,
+					file -> (file.equals(root) || !allPhaseRoots.contains(file)) && iterator.accept(file));
+		}
+	}
+
+	/** 一个阶段遍历得到的索引分段 */
+	private record PhaseSegment(Map<String, Set<VirtualFile>> fileCache,
+								Map<String, Set<VirtualFile>> fileBaseCache,
+								NavigableMap<String, Map<String, VirtualFile>> dirIndex,
+								ProgressTrackingIterator iterator) { }
+
+	/**
+	 * 在非阻塞读操作中执行索引计算
+	 * 有写操作等待时计算被中断并在写操作完成后重新执行，因此 computation 必须可以重复执行；
+	 * 当前线程已持有读锁时（如在 EDT 上同步重建）无法让出，直接在读操作中执行
+	 *
+	 * @param computation 索引计算
+	 * @param cancelled 计算是否已被取代
+	 * @return 计算结果
+	 * @throws ProcessCanceledException 项目关闭或计算被取代时
+	 */
+	private <T> T computeInIndexReadAction(Supplier<T> computation, BooleanSupplier cancelled) {
+		if (disposed || cancelled.getAsBoolean()) {
+			throw new ProcessCanceledException();
+		}
+		if (ApplicationManager.getApplication().isReadAccessAllowed()) {
+			return ReadAction.compute(computation::get);
+		}
+		return ReadAction.nonBlocking(computation::get)
+				.expireWith(project)
+				.expireWhen(() -> disposed || cancelled.getAsBoolean())
+				.executeSynchronously();
+	}
+
+	/**
+	 * 获取缓存写锁并递增索引代数
+	 * 所有缓存修改都在写锁内进行，因此获取写锁即视为一次修改
+	 */
+	private void lockIndexForWrite() {
+		cacheWriteLock.lock();
+		indexGeneration.incrementAndGet();
+	}
+
+	/**
+	 * 在索引代数未变化时获取缓存写锁并递增索引代数
+	 * 用于在锁外构建、在锁内替换的场景：构建期间有其他写入时放弃替换
+	 *
+	 * @param expectedGeneration 构建开始时读取的索引代数
+	 * @return 获取成功时返回true，调用方负责释放写锁；索引代数已变化时返回false，不持有锁
+	 */
+	private boolean tryLockIndexForWrite(long expectedGeneration) {
+		cacheWriteLock.lock();
+		if (indexGeneration.get() != expectedGeneration) {
+			cacheWriteLock.unlock();
+			return false;
+		}
+		indexGeneration.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * 按排序规则对每个名称下的候选文件预排序
+	 */
+	private static void rankCandidates(Map<String, Set<VirtualFile>> cache, CandidateRanking ranking) {
+		cache.replaceAll((key, files) -> files.size() < 2 ? files : new LinkedHashSet<>(ranking.rank(files)));
+	}
+
+	/**
+	 * 获取当前的忽略配置快照
+	 */
+	private IgnoreSignature currentIgnoreSignature() {
+		return new IgnoreSignature(config.useIgnorePattern, config.useIgnorePattern ? config.getIgnorePatternText() : null);
+	}
+
+	/**
+	 * 将阶段分段合并到目标索引，需要持有写锁
+	 */
+	private static void mergeSegment(Map<String, Set<VirtualFile>> segment, Map<String, Set<VirtualFile>> target) {
+		segment.forEach((key, files) -> target.computeIfAbsent(key, (k) -> new LinkedHashSet<>()).addAll(files));
+	}
+
+	/**
+	 * 将阶段分段合并到目标父目录索引，需要持有写锁
+	 */
+	private static void mergeDirectorySegment(Map<String, Map<String, VirtualFile>> segment,
+											  Map<String, Map<String, VirtualFile>> target) {
+		segment.forEach((key, files) -> target.computeIfAbsent(key, (k) -> new LinkedHashMap<>()).putAll(files));
+	}
+
+	/**
+	 * 发布新索引，需要持有写锁
+	 */
+	private void publishIndex(ProjectRootsSnapshot newRoots, Map<String, Set<VirtualFile>> newFileCache,
+							  Map<String, Set<VirtualFile>> newFileBaseCache,
+							  NavigableMap<String, Map<String, VirtualFile>> newDirIndex, boolean indexBaseNames) {
+		srcRoots = newRoots.sourceRoots();
+		candidateRanking = newRoots.ranking();
+		indexedRoots = newRoots;
+		rootTable = ContentRootTable.of(project.getBasePath(), newRoots.contentRoots());
+		excludedRootTable = ContentRootTable.of(null, newRoots.excludedRoots());
+		indexSuspended = false;
+		recordingSuspendedChanges = false;
+		suspendedChangePaths.clear();
+		fileCache = newFileCache;
+		fileBaseCache = newFileBaseCache;
+		nameGeneration.incrementAndGet();
+		// 新的缓存包含全部文件，发布完成后再冻结
+		frozenFileNames = FrozenNameIndex.EMPTY;
+		frozenBaseNames = FrozenNameIndex.EMPTY;
+		dirIndex = newDirIndex;
+		indexIterator = new AwesomeProjectFilesIterator(newFileCache, newFileBaseCache, newDirIndex, indexBaseNames,
+				config.classFileExtensionSet);
+		baseNameIndexBuilt = indexBaseNames;
+	}
+
+	/**
+	 * 项目根目录快照
+	 *
+	 * @param contentRoots 内容根目录
+	 * @param excludedRoots 排除目录
+	 * @param sourceRoots 源代码根目录路径，包括测试和资源根目录
+	 * @param productionSourceRoots 不含测试和资源根目录的源代码根目录路径
+	 */
+	private record ProjectRootsSnapshot(Set<VirtualFile> contentRoots, Set<VirtualFile> excludedRoots,
+										List<String> sourceRoots, List<String> productionSourceRoots) {
+
+		/** 按这些根目录排列同名候选文件的规则 */
+		CandidateRanking ranking() {
+			return CandidateRanking.of(productionSourceRoots, sourceRoots);
+		}
+	}
+
+	/**
+	 * 获取当前的项目根目录快照
+	 * 需要在读操作中调用
+	 */
+	private ProjectRootsSnapshot captureProjectRoots() {
+		final Set<VirtualFile> contentRoots = new LinkedHashSet<>(Arrays.asList(projectRootManager.getContentRoots()));
+		final Set<VirtualFile> excludedRoots = new LinkedHashSet<>();
+		for (Module module : ModuleManager.getInstance(project).getModules()) {
+			excludedRoots.addAll(Arrays.asList(ModuleRootManager.getInstance(module).getExcludeRoots()));
+		}
+		final List<String> productionSourceRoots = projectRootManager.getModuleSourceRoots(
+				Set.<JpsModuleSourceRootType<?>>of(JavaSourceRootType.SOURCE)).stream().map(VirtualFile::getPath).toList();
+		return new ProjectRootsSnapshot(contentRoots, excludedRoots, getSourceRoots(), productionSourceRoots);
+	}
+
+	/**
+	 * 请求同步项目根目录变更
+	 * 与重建请求共用合并队列，静默期内的多次根目录变更合并为一次同步
+	 * 单元测试模式下同步执行
+	 */
+	private void requestRootsReconciliation() {
+		if (disposed || project.isDisposed()) return;
+		if (ApplicationManager.getApplication().isUnitTestMode()) {
+			reconcileProjectRoots();
+			return;
+		}
+		rebuildQueue.queue(Update.create(ROOTS_UPDATE_ID, this::reconcileProjectRoots));
+	}
+
+	/**
+	 * 结束一次重建
+	 * 最后一个重建结束时，如果期间有被延后的根目录同步请求，重新发起一次
+	 */
+	private void endRebuild() {
+		if (rebuildsInProgress.decrementAndGet() == 0 && rootsReconciliationDeferred.compareAndSet(true, false)) {
+			requestRootsReconciliation();
+		}
+	}
+
+	/**
+	 * 按根目录差异增量同步索引
+	 * 比较当前索引对应的根目录与最新的根目录，只处理新增或移除的内容根、排除目录所在的子树：
+	 * 先按路径移除子树中的已有条目，再重新收集其中仍属于项目内容的文件；
+	 * 源代码根目录列表与索引变更在同一次写锁内替换
+	 */
+	private void reconcileProjectRoots() {
+		if (disposed || project.isDisposed()) return;
+		// 重建进行中时等其完成后再比较，新索引对应的根目录可能已经是最新的
+		// 只做标记，由最后一个结束的重建重新发起，不在这里重新入队或递归调用；
+		// 首次构建期间索引尚未初始化，同样需要推迟，否则构建完成后的索引仍对应构建开始时的根目录
+		if (rebuildsInProgress.get() > 0) {
+			rootsReconciliationDeferred.set(true);
+			return;
+		}
+		if (!cacheInitialized) return;
+		final ProjectRootsSnapshot previous = indexedRoots;
+		if (previous == null) return;
+		final long startTime = System.currentTimeMillis();
+		final long rootsStamp = projectRootManager.getModificationCount();
+		prepareFilter();
+		try {
+			final ProjectRootsSnapshot current = computeInIndexReadAction(this::captureProjectRoots, () -> false);
+			final List<VirtualFile> changedRoots = outermostRoots(List.of(
+					difference(previous.contentRoots(), current.contentRoots()),
+					difference(current.contentRoots(), previous.contentRoots()),
+					difference(previous.excludedRoots(), current.excludedRoots()),
+					difference(current.excludedRoots(), previous.excludedRoots())
+			));
+			final Set<VirtualFile> newPrunedDirectories = new LinkedHashSet<>();
+			final Set<VirtualFile> contentFiles = computeInIndexReadAction(() -> {
+				final Set<VirtualFile> files = new LinkedHashSet<>();
+				newPrunedDirectories.clear();
+				for (VirtualFile root : changedRoots) {
+					fileCacheUpdateListener.collectContentFiles(root, files, newPrunedDirectories);
+				}
+				return files;
+			}, () -> false);
+
+			int evictedCount = 0;
+			lockIndexForWrite();
+			try {
+				for (VirtualFile root : changedRoots) {
+					final String rootPath = root.getPath();
+					evictedCount += fileCacheUpdateListener.removeSubtreeFromCache(rootPath);
+					ignoredFiles.removeSubtree(rootPath);
+					prunedDirectories.removeSubtree(rootPath);
+				}
+				// 写锁可重入，新增与移除在同一次写锁内完成，查询不会看到子树被移除但尚未重新加入的中间状态
+				fileCacheUpdateListener.processAdditions(contentFiles, newPrunedDirectories);
+				ignoredFilesCount = ignoredFiles.size();
+				prunedDirectoriesCount = prunedDirectories.size();
+				srcRoots = current.sourceRoots();
+				candidateRanking = current.ranking();
+				indexedRoots = current;
+				rootTable = ContentRootTable.of(project.getBasePath(), current.contentRoots());
+				excludedRootTable = ContentRootTable.of(null, current.excludedRoots());
+				// 根目录变更已经同步，随后的 dumb mode 退出不必因此触发完整重建
+				indexedRootsStamp = rootsStamp;
+			} finally {
+				cacheWriteLock.unlock();
+			}
+			logger.info(String.format("project[%s]: roots changed: %d subtree(s), evicted %d file(s), collected %d file(s), duration[%dms]",
+					project.getName(), changedRoots.size(), evictedCount, contentFiles.size(),
+					System.currentTimeMillis() - startTime));
+		} catch (ProcessCanceledException e) {
+			logger.info(String.format("project[%s]: roots reconciliation cancelled", project.getName()));
+		}
+	}
+
+	/** 返回 a 中有而 b 中没有的目录 */
+	private static Set<VirtualFile> difference(Set<VirtualFile> a, Set<VirtualFile> b) {
+		final Set<VirtualFile> result = new LinkedHashSet<>(a);
+		result.removeAll(b);
+		return result;
+	}
+
+	/** 合并多组目录，只保留最外层的目录，嵌套在其他目录下的子树不重复处理 */
+	private static List<VirtualFile> outermostRoots(Collection<Set<VirtualFile>> groups) {
+		final List<VirtualFile> roots = new ArrayList<>();
+		groups.forEach(roots::addAll);
+		roots.sort(Comparator.comparing(VirtualFile::getPath, AwesomeLinkFilter::comparePaths));
+		final List<VirtualFile> outermost = new ArrayList<>();
+		for (VirtualFile root : roots) {
+			if (outermost.isEmpty()
+					|| !FileUtil.isAncestor(outermost.get(outermost.size() - 1).getPath(), root.getPath(), false)) {
+				outermost.add(root);
+			}
+		}
+		return outermost;
+	}
+
+	/** 合并路径，只保留最外层的路径 */
+	private static List<String> outermostPaths(Collection<String> paths) {
+		final List<String> sorted = new ArrayList<>(paths);
+		sorted.sort(AwesomeLinkFilter::comparePaths);
+		final List<String> outermost = new ArrayList<>();
+		for (String path : sorted) {
+			if (outermost.isEmpty() || !FileUtil.isAncestor(outermost.get(outermost.size() - 1), path, false)) {
+				outermost.add(path);
+			}
+		}
+		return outermost;
+	}
+
+	/**
+	 * 按路径层级比较，/ 排在所有字符之前，使子孙路径紧跟在祖先之后
+	 * 按字符串比较时 /a-b 会排在 /a 和 /a/c 之间
+	 */
+	private static int comparePaths(String a, String b) {
+		final int length = Math.min(a.length(), b.length());
+		for (int i = 0; i < length; i++) {
+			final char ca = a.charAt(i);
+			final char cb = b.charAt(i);
+			if (ca != cb) {
+				if (ca == '/') return -1;
+				if (cb == '/') return 1;
+				return ca - cb;
+			}
+		}
+		return a.length() - b.length();
+	}
+
+	/**
+	 * 请求重建文件缓存
+	 * 请求进入合并队列，静默期内的多个请求合并为一次后台重建；
+	 * 执行时如果文件集合和项目根目录自上次构建以来都没有变化则跳过
+	 * 单元测试模式下同步重建
+	 *
+	 * @param reason 重建原因
+	 */
+	private void requestRebuild(String reason) {
+		if (disposed || project.isDisposed()) return;
+		if (ApplicationManager.getApplication().isUnitTestMode()) {
+			reloadFileCache(reason);
+			return;
+		}
+		requestedRebuildReasons.add(reason);
+		rebuildQueue.queue(Update.create(REBUILD_UPDATE_ID, this::runRequestedRebuild));
+	}
+
+	/**
+	 * 执行合并后的重建请求，在合并队列的后台线程中调用
+	 */
+	private void runRequestedRebuild() {
+		final List<String> reasons = new ArrayList<>(requestedRebuildReasons);
+		requestedRebuildReasons.removeAll(reasons);
+		if (reasons.isEmpty() || disposed || project.isDisposed()) return;
+		final String reason = String.join(", ", reasons);
+		// 文件搜索关闭后索引已释放，不再自动重建
+		if (!config.searchFiles && !cacheInitialized) return;
+		if (cacheInitialized && !isFileSetPossiblyChanged()) {
+			logger.info(String.format("project[%s]: rebuild ( %s ) skipped, file set unchanged since last build",
+					project.getName(), reason));
+			return;
+		}
+		try {
+			rebuildFileCacheSnapshot(reason);
+		} catch (Exception e) {
+			logger.error(String.format("project[%s]: Error rebuilding file cache ( %s )", project.getName(), reason), e);
+		}
+	}
+
+	/**
+	 * 判断文件集合自上次构建以来是否可能发生变化
+	 * 只比较本项目的结构修改计数和项目根目录修改计数，不遍历文件
+	 *
+	 * @return 任一计数变化时返回true
+	 */
+	private boolean isFileSetPossiblyChanged() {
+		return projectStructureStamp.get() != indexedStructureStamp
+				|| projectRootManager.getModificationCount() != indexedRootsStamp;
+	}
+
+	/**
+	 * 预热文件缓存
+	 * 在后台线程中以快照方式构建索引，不阻塞创建过滤器的线程（通常是正在创建控制台的线程）
+	 * 单元测试模式下同步构建，保证测试创建过滤器后即可使用索引
+	 *
+	 * @param reason 构建原因
+	 */
+	private void warmUpFileCache(String reason) {
+		if (ApplicationManager.getApplication().isUnitTestMode()) {
+			reloadFileCache(reason);
+			return;
+		}
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			if (disposed || project.isDisposed()) return;
+			try {
+				rebuildFileCacheSnapshot(reason);
+			} catch (Exception e) {
+				logger.error(String.format("project[%s]: Error warming up file cache", project.getName()), e);
+			}
+		});
+	}
+
+	/**
+	 * 在后台重建文件缓存
+	 * 新索引构建期间查询仍然使用旧索引（尚无索引时按阶段逐步发布），不会被长时间阻塞
+	 * 新的请求会取消正在进行的后台重建，由执行该重建的线程接着按最新的请求重建一次，
+	 * 连续到达的多个请求合并为一次重建
+	 *
+	 * @param reason 重建原因
+	 */
+	private void rebuildFileCacheSnapshot(String reason) {
+		if (pendingRebuildReason.getAndSet(reason) != null || backgroundRebuildRunning.get()) {
+			logger.info(String.format("project[%s]: rebuild ( %s ) supersedes the pending one",
+					project.getName(), reason));
+		}
+		rebuildGeneration.incrementAndGet();
+		// 释放运行标记后再检查一次，避免请求恰好在上一轮退出循环时到达而被遗漏
+		while (!disposed && pendingRebuildReason.get() != null && backgroundRebuildRunning.compareAndSet(false, true)) {
+			rebuildsInProgress.incrementAndGet();
+			try {
+				String nextReason;
+				while (!disposed && (nextReason = pendingRebuildReason.getAndSet(null)) != null) {
+					final int generation = rebuildGeneration.get();
+					try {
+						buildFileCacheInPhases(nextReason, null, () -> rebuildGeneration.get() != generation);
+					} catch (ProcessCanceledException e) {
+						logger.info(String.format("project[%s]: rebuild ( %s ) cancelled", project.getName(), nextReason));
+					}
+				}
+			} finally {
+				endRebuild();
+				backgroundRebuildRunning.set(false);
+			}
+		}
+	}
+
+	/**
+	 * 用当前忽略模式重新过滤已有索引
+	 * 候选文件为已缓存文件和被忽略文件的并集，在写锁外并行重新评估忽略模式并构建新的索引，
+	 * 写锁只用于替换引用，期间控制台的缓存查询不会被阻塞；
+	 * 不遍历 VFS，只有此前被剪枝、在新模式下不再被覆盖的目录才会遍历其子树
+	 *
+	 * @param reason 重新过滤的原因
+	 */
+	private void refilterFileCache(String reason) {
+		if (!cacheInitialized) {
+			// 索引已释放时只有开启了文件搜索才需要重建
+			if (config.searchFiles) requestRebuild(reason);
+			return;
+		}
+		long startTime = System.currentTimeMillis();
+		prepareFilter();
+		final IgnoreDirectoryRules rules = getIgnoreDirectoryRules();
+		// 过滤期间 VFS 批处理延后执行，避免在构建新索引时被增量更新抢先替换
+		rebuildsInProgress.incrementAndGet();
+		try {
+			for (int attempt = 0; attempt < REFILTER_MAX_ATTEMPTS; attempt++) {
+				if (tryRefilterFileCache(reason, rules, startTime)) {
+					return;
+				}
+			}
+			// 多次被其他写入抢先时退回到后台完整重建
+			logger.info(String.format("project[%s]: index kept changing during re-filter, falling back to rebuild",
+					project.getName()));
+			requestRebuild(reason);
+		} finally {
+			endRebuild();
+		}
+	}
+
+	/**
+	 * 执行一次重新过滤
+	 *
+	 * @param reason 重新过滤的原因
+	 * @param rules 目录级规则
+	 * @param startTime 开始时间
+	 * @return 新索引已发布时返回true；构建期间索引被其他写入修改时返回false，由调用方重试
+	 */
+	private boolean tryRefilterFileCache(String reason, IgnoreDirectoryRules rules, long startTime) {
+		// 1. 在读锁内复制候选文件和剪枝目录，并记录对应的索引代数
+		final long generation;
+		final List<VirtualFile> candidates = new ArrayList<>();
+		final List<VirtualFile> stillPruned = new ArrayList<>();
+		final List<VirtualFile> reopened = new ArrayList<>();
+		final CandidateRanking ranking;
+		cacheReadLock.lock();
+		try {
+			generation = indexGeneration.get();
+			ranking = candidateRanking;
+			// 父目录索引包含全部已索引的文件，冻结层中已移除的文件不在其中
+			dirIndex.values().forEach(files -> candidates.addAll(files.values()));
+			ignoredFiles.forEach(candidates::add);
+			for (VirtualFile dir : prunedDirectories) {
+				if (!dir.isValid()) continue;
+				(isIgnoredDirectory(dir, rules) ? stillPruned : reopened).add(dir);
+			}
+		} finally {
+			cacheReadLock.unlock();
+		}
+
+		// 2. 展开不再被覆盖的剪枝目录，子树遍历需要读权限
+		final Set<VirtualFile> reopenedFiles = new LinkedHashSet<>();
+		final Set<VirtualFile> newlyPruned = new LinkedHashSet<>();
+		if (!reopened.isEmpty()) {
+			ReadAction.run(() -> {
+				for (VirtualFile dir : reopened) {
+					projectRootManager.getFileIndex().iterateContentUnderDirectory(dir, file -> {
+						if (!file.isDirectory()) reopenedFiles.add(file);
+						return true;
+					}, file -> {
+						if (!file.isDirectory() || !isIgnoredDirectory(file, rules)) return true;
+						newlyPruned.add(file);
+						return false;
+					});
+				}
+			});
+		}
+		candidates.addAll(reopenedFiles);
+
+		// 3. 并行评估新的忽略模式，每个任务使用局部匹配器，不在公共线程池的线程上留下线程本地变量
+		final IgnoreSignature ignoreSignature = currentIgnoreSignature();
+		final Pattern ignorePattern = config.ignorePattern;
+		final Map<Boolean, List<VirtualFile>> partition = candidates.parallelStream()
+				.filter(VirtualFile::isValid)
+				.collect(Collectors.partitioningBy(file -> shouldIgnoreFile(file, ignorePattern.matcher(""))));
+
+		// 4. 由保留的文件构建新的名称索引和父目录索引
+		final Map<String, Set<VirtualFile>> newFileCache = new ConcurrentHashMap<>();
+		final Map<String, Set<VirtualFile>> newFileBaseCache = new ConcurrentHashMap<>();
+		final NavigableMap<String, Map<String, VirtualFile>> newDirIndex = new TreeMap<>();
+		final boolean indexBaseNames = baseNameIndexBuilt;
+		final AwesomeProjectFilesIterator newIterator = new AwesomeProjectFilesIterator(newFileCache, newFileBaseCache, newDirIndex,
+				indexBaseNames, config.classFileExtensionSet);
+		partition.get(false).forEach(newIterator::processFile);
+		// 名称缓存同样在锁外冻结并按排序规则排列候选，之后增量新增的文件写入剩余的普通缓存
+		final Map<String, Set<VirtualFile>> fileNameRemainder = new ConcurrentHashMap<>();
+		final FrozenNameIndex newFrozenFileNames = FrozenNameIndex.freeze(newFileCache, fileNameRemainder, ranking);
+		final Map<String, Set<VirtualFile>> baseNameRemainder = new ConcurrentHashMap<>();
+		final FrozenNameIndex newFrozenBaseNames = FrozenNameIndex.freeze(newFileBaseCache, baseNameRemainder, ranking);
+		final PathIndexedSet<VirtualFile> newIgnoredFiles = new PathIndexedSet<>(VirtualFile::getPath, partition.get(true));
+		stillPruned.addAll(newlyPruned);
+		final PathIndexedSet<VirtualFile> newPrunedDirectories = new PathIndexedSet<>(VirtualFile::getPath, stillPruned);
+
+		// 5. 写锁内只替换引用；构建期间索引被修改过时放弃本次结果
+		if (!tryLockIndexForWrite(generation)) {
+			return false;
+		}
+		try {
+			fileCache = fileNameRemainder;
+			frozenFileNames = newFrozenFileNames;
+			fileBaseCache = baseNameRemainder;
+			frozenBaseNames = newFrozenBaseNames;
+			nameGeneration.incrementAndGet();
+			dirIndex = newDirIndex;
+			indexIterator = new AwesomeProjectFilesIterator(fileNameRemainder, baseNameRemainder, newDirIndex,
+					indexBaseNames, config.classFileExtensionSet);
+			indexedIgnoreSignature = ignoreSignature;
+			ignoredFiles = newIgnoredFiles;
+			prunedDirectories = newPrunedDirectories;
+			ignoredFilesCount = newIgnoredFiles.size();
+			prunedDirectoriesCount = newPrunedDirectories.size();
+			logCacheRebuild(String.format("%s, %d candidate(s), %d reopened dir(s)", reason, candidates.size(), reopened.size()), startTime);
+		} finally {
+			cacheWriteLock.unlock();
+		}
+		return true;
+	}
+
+	/**
+	 * 记录缓存重建日志和通知
+	 *
+	 * @param reason 重建原因
+	 * @param startTime 开始时间
+	 */
+	private void logCacheRebuild(String reason, long startTime) {
+		String state = cacheInitialized ? "reload" : "init";
+		if (!cacheInitialized) {
+			String notificationMessage = String.format("fileCache[%d], fileBaseCache[%d]", 
+					getFileCacheSize(), getFileBaseCacheSize());
+			if (config.useIgnorePattern && ignoredFilesCount > 0) {
+				notificationMessage += String.format(", ignored[%d]", ignoredFilesCount);
+			}
+			logger.info(String.format("project[%s]: index ready after %dms since open",
+					project.getName(), System.currentTimeMillis() - createdAt));
+			notifyUser(
+					String.format("%s file cache ( %s )", state, reason),
+					notificationMessage
+			);
+			cacheInitialized = true;
 		}
 
 		lastRebuildTime = System.currentTimeMillis();
@@ -1239,29 +2421,45 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 		String logMessage = String.format(
 				"project[%s]: %s file cache ( %s ): fileCache[%d], fileBaseCache[%d], duration[%dms]",
-				project.getName(), state, reason, fileCache.size(), fileBaseCache.size(), lastRebuildDuration
+				project.getName(), state, reason, getFileCacheSize(), getFileBaseCacheSize(), lastRebuildDuration
 		);
 		if (config.useIgnorePattern && ignoredFilesCount > 0) {
 			logMessage += String.format(", ignored[%d]", ignoredFilesCount);
 		}
+		if (config.useIgnorePattern && prunedDirectoriesCount > 0) {
+			logMessage += String.format(", pruned dirs[%d]", prunedDirectoriesCount);
+		}
+		if (lastSkippedBaseNameCount > 0) {
+			logMessage += String.format(", base-name skipped[%d, ~%s saved]", lastSkippedBaseNameCount,
+					StringUtil.formatFileSize((long) lastSkippedBaseNameCount * ESTIMATED_BASE_NAME_ENTRY_BYTES));
+		}
 		logger.info(logMessage);
 	}
 
 	/**
 	 * 带进度跟踪和忽略统计的文件迭代器
+	 * 同时作为 iterateContent 的目录过滤器，整棵子树都会被忽略的目录不再进入
 	 */
-	private class ProgressTrackingIterator extends AwesomeProjectFilesIterator {
+	private class ProgressTrackingIterator extends AwesomeProjectFilesIterator implements VirtualFileFilter {
 		private int processedCount = 0;
-		private int localIgnoredCount = 0;
+		private final Set<VirtualFile> localIgnoredFiles = new LinkedHashSet<>();
+		private final Set<VirtualFile> localPrunedDirectories = new LinkedHashSet<>();
+		private final IgnoreDirectoryRules directoryRules = getIgnoreDirectoryRules();
 		private long lastCallbackTime = 0;
 		private static final long CALLBACK_INTERVAL_MS = 50; // 50ms间隔
 		private final Consumer<Integer> progressCallback;
-
-		public ProgressTrackingIterator(Map<String, List<VirtualFile>> fileCache,
-									   Map<String, List<VirtualFile>> fileBaseCache,
-									   Consumer<Integer> progressCallback) {
-			super(fileCache, fileBaseCache);
+		/** 之前阶段已处理的文件数，回调时累加，使进度在各阶段间连续 */
+		private final int processedBase;
+
+		public ProgressTrackingIterator(Map<String, Set<VirtualFile>> fileCache,
+									   Map<String, Set<VirtualFile>> fileBaseCache,
+									   NavigableMap<String, Map<String, VirtualFile>> dirIndex,
+									   boolean indexBaseNames,
+									   Consumer<Integer> progressCallback,
+									   int processedBase) {
+			super(fileCache, fileBaseCache, dirIndex, indexBaseNames, config.classFileExtensionSet);
 			this.progressCallback = progressCallback;
+			this.processedBase = processedBase;
 		}
 
 		@Override
@@ -1272,12 +2470,15 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 					return true;
 				}
 
+				// 响应取消和等待中的写操作
+				ProgressManager.checkCanceled();
+
 				// 统计处理的文件数（包括被忽略的文件，用于进度显示）
 				processedCount++;
 
 				// 在索引阶段就应用忽略模式过滤，减少无效索引
 				if (shouldIgnoreFile(fileOrDir)) {
-					localIgnoredCount++;
+					localIgnoredFiles.add(fileOrDir);
 					// 被忽略的文件不添加到缓存，但仍触发进度回调
 					triggerProgressCallback();
 					return true;
@@ -1289,6 +2490,8 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 				// 调用进度回调
 				triggerProgressCallback();
 				return result;
+			} catch (ProcessCanceledException e) {
+				throw e;
 			} catch (Exception e) {
 				// 记录错误但不中断整个索引过程，继续处理其他文件
 				logger.error(String.format("project[%s]: Error processing file during indexing: %s",
@@ -1305,15 +2508,79 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 			if (progressCallback != null) {
 				long currentTime = System.currentTimeMillis();
 				if (processedCount % 5 == 0 || (currentTime - lastCallbackTime) >= CALLBACK_INTERVAL_MS) {
-					progressCallback.accept(processedCount);
+					progressCallback.accept(processedBase + processedCount);
 					lastCallbackTime = currentTime;
 				}
 			}
 		}
 
+		@Override
+		public boolean accept(VirtualFile file) {
+			if (!file.isDirectory() || !isIgnoredDirectory(file, directoryRules)) {
+				return true;
+			}
+			localPrunedDirectories.add(file);
+			return false;
+		}
+
+		public int getProcessedCount() {
+			return processedCount;
+		}
+
 		public int getIgnoredCount() {
-			return localIgnoredCount;
+			return localIgnoredFiles.size();
+		}
+
+		public int getPrunedDirectoryCount() {
+			return localPrunedDirectories.size();
+		}
+
+		public Set<VirtualFile> getIgnoredFiles() {
+			return localIgnoredFiles;
+		}
+
+		public Set<VirtualFile> getPrunedDirectories() {
+			return localPrunedDirectories;
+		}
+	}
+
+	/**
+	 * 获取当前忽略模式对应的目录级规则
+	 * 未启用忽略模式时返回不剪枝的规则；忽略模式变化后重新分析
+	 *
+	 * @return 目录级规则
+	 */
+	private IgnoreDirectoryRules getIgnoreDirectoryRules() {
+		if (!config.useIgnorePattern) {
+			return IgnoreDirectoryRules.NONE;
 		}
+		final Pattern pattern = config.ignorePattern;
+		IgnoreDirectoryRules rules = ignoreDirectoryRules;
+		if (rules.getPattern() != pattern) {
+			rules = IgnoreDirectoryRules.analyze(pattern);
+			ignoreDirectoryRules = rules;
+			logger.info(String.format("project[%s]: ignore pattern analysed for directory pruning, prunable=%b",
+					project.getName(), !rules.isEmpty()));
+		}
+		return rules;
+	}
+
+	/**
+	 * 判断目录下的所有文件是否必然被忽略
+	 * 只对项目根目录或内容根之下的目录做判断，其余目录回退到逐文件检查
+	 *
+	 * @param dir 目录
+	 * @param rules 目录级规则
+	 * @return 整棵子树都会被忽略时返回true
+	 */
+	private boolean isIgnoredDirectory(@NotNull VirtualFile dir, @NotNull IgnoreDirectoryRules rules) {
+		if (rules.isEmpty()) {
+			return false;
+		}
+		String path = normalizePathSeparators(dir.getPath());
+		String root = rootTable.findRoot(path);
+		// 根目录本身及项目外的目录与其下文件的相对路径形式不同，不做剪枝
+		return null != root && path.length() > root.length() && rules.coversDirectory(path.substring(root.length()));
 	}
 
 	/**
@@ -1322,11 +2589,24 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 * 在项目打开时初始化文件缓存，并设置以下监听器：
 	 * 1. DumbMode 监听器：当索引更新完成后重新加载缓存
 	 * 2. VFS 监听器：监听文件的创建、删除、移动、重命名等事件，增量更新缓存
+	 * 3. 根目录监听器：内容根、源代码根、排除目录变更时只同步变化的子树
 	 *
 	 * 这样可以确保缓存始终与项目文件系统保持同步
+	 * 初始构建在后台线程中进行，构建完成前过滤器以降级模式工作
 	 */
 	private void createFileCache() {
-		reloadFileCache("open project");
+		rebuildQueue = new MergingUpdateQueue("AwesomeConsoleIndexRebuild", REBUILD_QUIET_PERIOD_MS,
+				true, null, this, null, false);
+		rebuildQueue.setRestartTimerOnAdd(true);
+		warmUpFileCache("open project");
+
+		// 低内存时挂起非活动项目的索引
+		LowMemoryWatcher.register(this::onLowMemory, this);
+		// 控制台长时间无输出时挂起索引
+		if (!ApplicationManager.getApplication().isUnitTestMode()) {
+			idleCheckTask = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+					this::checkIdle, IDLE_CHECK_INTERVAL_MS, IDLE_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+		}
 
 		// 创建 MessageBus 连接并传入 this 作为父 Disposable，确保在 dispose() 时自动断开连接
 		messageBusConnection = project.getMessageBus().connect(this);
@@ -1335,7 +2615,9 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		messageBusConnection.subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
 			@Override
 			public void exitDumbMode() {
-				reloadFileCache("indices are updated");
+				// 关闭文件搜索后索引已释放，不再自动重建
+				if (!config.searchFiles && !cacheInitialized) return;
+				requestRebuild("indices are updated");
 			}
 		});
 
@@ -1345,7 +2627,18 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		// relevant to your task (e.g., via ProjectFileIndex.isInContent()).
 		// ref: https://plugins.jetbrains.com/docs/intellij/virtual-file-system.html#virtual-file-system-events
 		// ref: https://plugins.jetbrains.com/docs/intellij/virtual-file.html#how-do-i-get-notified-when-vfs-changes
-		messageBusConnection.subscribe(VirtualFileManager.VFS_CHANGES, new FileCacheUpdateListener());
+		fileCacheUpdateListener = new FileCacheUpdateListener();
+		messageBusConnection.subscribe(VirtualFileManager.VFS_CHANGES, fileCacheUpdateListener);
+
+		// 订阅项目根目录变更事件（Project 级别），按根目录差异增量同步索引
+		messageBusConnection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+			@Override
+			public void rootsChanged(@NotNull ModuleRootEvent event) {
+				// 文件类型变更不影响根目录
+				if (event.isCausedByFileTypesChange()) return;
+				requestRootsReconciliation();
+			}
+		});
 
 		// 订阅配置变更事件（Application 级别）
 		// 配置是全局的，所以需要使用 Application 级别的 MessageBus
@@ -1356,79 +2649,169 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 	/**
 	 * 文件缓存更新监听器，处理文件系统事件并增量更新缓存
+	 * <p>
+	 * git checkout 等操作会一次性产生大量事件，因此 after() 只负责入队，
+	 * 事件在短暂的合并窗口后于后台线程中分批处理；单批事件过多时改为后台快照重建
 	 */
 	private class FileCacheUpdateListener implements BulkFileListener {
+		/**
+		 * 待移除的缓存条目
+		 *
+		 * @param file 事件关联的文件或目录
+		 * @param oldPath 事件发生前的路径，目录按该路径前缀定位子树
+		 * @param oldName 事件发生前的文件名，重命名时与当前名称不同
+		 * @param directory 是否为目录
+		 */
+		private record Removal(VirtualFile file, String oldPath, String oldName, boolean directory) { }
+
 		/** 事件分类结果 */
 		private record EventClassification(
-				List<VirtualFile> newFiles,
-				List<VirtualFile> filesToDelete,
-				boolean directoryDeleted
+				Set<VirtualFile> newFiles,
+				Set<VirtualFile> prunedDirectories,
+				List<Removal> removals
 		) {
 			boolean hasChanges() {
-				return !newFiles.isEmpty() || !filesToDelete.isEmpty() || directoryDeleted;
+				return !newFiles.isEmpty() || !removals.isEmpty();
 			}
 		}
 
+		/** 待处理的 VFS 事件队列 */
+		private final ConcurrentLinkedQueue<VFileEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+
+		/** 是否已经安排了一次批处理 */
+		private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
 		@Override
 		public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+			if (disposed || events.isEmpty()) return;
+			// 目录或链接的变化可能改变真实路径，立即使缓存的映射失效
+			RealPathCache.getInstance().invalidate(events);
+			// 只有本项目根目录下的结构变更才使“文件集合未变化”的判断失效
+			boolean structureChanged = false;
+			for (VFileEvent event : events) {
+				if (!isProjectStructureEvent(event)) continue;
+				structureChanged = true;
+				// 挂起期间的批处理会丢弃事件，只记录路径，恢复快照后重新扫描
+				if (recordingSuspendedChanges) recordSuspendedChange(event);
+			}
+			if (structureChanged) {
+				projectStructureStamp.incrementAndGet();
+			}
+			// 项目根目录本身或其直接子项的增删、移动、重命名改变了评分用的根目录条目（可能不进入索引），评分数据立即失效；
+			// 索引中文件名的变化由文件名代数跟踪，其他事件不影响评分
+			final String basePath = rootTable.getBasePath();
+			if (null != basePath && events.stream().anyMatch(event -> isBaseDirectoryEvent(event, basePath))) {
+				tokenScorer.invalidate();
+			}
+			// 事件分发线程上只做入队，分类、isInContent 和写锁都放到后台批处理中
+			pendingEvents.addAll(events);
+			scheduleFlush(VFS_EVENT_DEBOUNCE_MS);
+		}
+
+		/** 安排一次延迟批处理，窗口内的多次调用只会安排一次 */
+		private void scheduleFlush(long delayMs) {
+			if (flushScheduled.compareAndSet(false, true)) {
+				AppExecutorUtil.getAppScheduledExecutorService()
+						.schedule(this::flushPendingEvents, delayMs, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		/** 丢弃所有排队中的事件 */
+		void clearPendingEvents() {
+			pendingEvents.clear();
+		}
+
+		/** 在后台线程中处理合并后的一批事件 */
+		private void flushPendingEvents() {
+			flushScheduled.set(false);
+			if (disposed || project.isDisposed()) {
+				pendingEvents.clear();
+				return;
+			}
+			// 重建期间不修改缓存，等新索引发布后再处理
+			if (rebuildsInProgress.get() > 0) {
+				scheduleFlush(VFS_EVENT_DEBOUNCE_MS);
+				return;
+			}
+
+			List<VFileEvent> batch = new ArrayList<>();
+			VFileEvent event;
+			while ((event = pendingEvents.poll()) != null) {
+				batch.add(event);
+			}
+			if (batch.isEmpty()) return;
+			// 索引已释放（关闭文件搜索或手动清除）时丢弃事件，下次重建会反映这些变化
+			if (!cacheInitialized) return;
+
 			try {
-				EventClassification result = classifyEvents(events);
+				int threshold = config.vfsBatchRebuildThreshold;
+				if (threshold > 0 && batch.size() > threshold) {
+					logger.info(String.format("project[%s]: %d VFS events exceed threshold %d, switching to snapshot rebuild",
+							project.getName(), batch.size(), threshold));
+					rebuildFileCacheSnapshot(String.format("vfs batch of %d events", batch.size()));
+					return;
+				}
+
+				prepareFilter();
+				EventClassification result = ReadAction.compute(() -> classifyEvents(batch));
 				if (!result.hasChanges()) return;
 
-				processDeletions(result.filesToDelete);
-				if (result.directoryDeleted) cleanupInvalidFilesAsync();
-				processAdditions(result.newFiles);
+				processDeletions(result.removals);
+				processAdditions(result.newFiles, result.prunedDirectories);
 			} catch (Exception e) {
-				// 记录错误但不中断VFS事件处理，避免影响其他监听器
+				// 记录错误但不中断后续批次的处理
 				logger.error(String.format("project[%s]: Error handling VFS events",
 						project.getName()), e);
 			}
 		}
 
-		/** 分类处理所有VFS事件 */
 	/**
 	 * 对虚拟文件事件进行分类处理
+	 * 同一批内重复出现的文件会被合并，先删除后添加，添加时跳过已失效的文件
+	 * 目录的删除、移动、重命名按旧路径移除整个子树，目录的新增、移动、重命名展开为其下的内容文件
+	 * 需要在读操作中调用
 	 * @param events 虚拟文件事件列表
-	 * @return 事件分类结果，包含新增文件、待删除文件和目录删除标志
+	 * @return 事件分类结果，包含新增文件和待移除条目
 	 */
 	private EventClassification classifyEvents(List<? extends VFileEvent> events) {
-		// 存储新创建或新增的文件
-		List<VirtualFile> newFiles = new ArrayList<>();
-		// 存储需要删除的文件
-		List<VirtualFile> filesToDelete = new ArrayList<>();
-		// 标记是否有目录被删除
-		boolean directoryDeleted = false;
+		// 存储新创建或新增的文件（去重并保持顺序）
+		Set<VirtualFile> newFiles = new LinkedHashSet<>();
+		// 存储收集时因忽略模式被剪枝的目录，忽略模式放宽后由重新过滤展开
+		Set<VirtualFile> prunedDirectories = new LinkedHashSet<>();
+		// 存储需要移除的条目，移除不要求仍在项目内容中（移出项目的文件也要删除）
+		List<Removal> removals = new ArrayList<>();
 
 		// 遍历所有文件事件
 		for (VFileEvent event : events) {
 			// 获取事件关联的文件
 			final VirtualFile file = event.getFile();
-			// 跳过空文件或不在内容根目录中的文件
-			if (file == null || !this.isFileInProjectScope(file, event instanceof VFileDeleteEvent)) continue;
+			// 跳过空文件
+			if (file == null) continue;
 
 			// 根据事件类型进行分类处理
 			switch (event) {
 				// 文件复制事件：将复制后创建的新文件添加到新文件列表
-				case VFileCopyEvent e -> newFiles.add(e.findCreatedFile());
-				// 文件创建事件：将新创建的文件添加到新文件列表
-				case VFileCreateEvent e -> newFiles.add(file);
-				// 文件删除事件：区分目录和普通文件
-				case VFileDeleteEvent e -> {
-					// 如果删除的是目录，设置目录删除标志
-					if (file.isDirectory()) directoryDeleted = true;
-					// 如果删除的是普通文件，添加到待删除文件列表
-					else filesToDelete.add(file);
+				case VFileCopyEvent e -> {
+					VirtualFile created = e.findCreatedFile();
+					if (created != null) collectContentFiles(created, newFiles, prunedDirectories);
+				}
+				// 文件创建事件：将新创建的文件（或目录下的内容文件）添加到新文件列表
+				case VFileCreateEvent e -> collectContentFiles(file, newFiles, prunedDirectories);
+				// 文件删除事件：按删除前的路径移除文件或整个子树
+				case VFileDeleteEvent e -> removals.add(new Removal(file, e.getPath(), file.getName(), file.isDirectory()));
+				// 文件移动事件：按旧路径移除，再按新位置重新添加（新位置可能不在项目中或被忽略）
+				case VFileMoveEvent e -> {
+					removals.add(new Removal(file, e.getOldPath(), file.getName(), file.isDirectory()));
+					collectContentFiles(file, newFiles, prunedDirectories);
 				}
-				// 文件移动事件：无需处理，因为文件路径会自动更新
-				case VFileMoveEvent e -> { /* 文件移动无需处理，路径自动更新 */ }
 				// 文件属性变更事件：主要处理文件重命名
 				case VFilePropertyChangeEvent e -> {
 					// 判断是否为重命名事件
 					if (isRenameEvent(e)) {
-						// 将旧文件名添加到待删除列表
-						filesToDelete.add(file);  // 删除旧名
-						// 将新文件名添加到新文件列表
-						newFiles.add(file);       // 添加新名
+						// 按旧路径和旧文件名移除
+						removals.add(new Removal(file, e.getOldPath(), (String) e.getOldValue(), file.isDirectory()));
+						// 按新名称重新添加
+						collectContentFiles(file, newFiles, prunedDirectories);
 					}
 				}
 				// 其他未处理的事件类型
@@ -1436,9 +2819,107 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 			}
 		}
 		// 返回分类结果
-		return new EventClassification(newFiles, filesToDelete, directoryDeleted);
+		return new EventClassification(newFiles, prunedDirectories, removals);
 	}
 
+		/**
+		 * 收集需要加入缓存的内容文件
+		 * 普通文件在项目内容中时直接收集；目录则遍历其下属于项目内容的文件，耗时与子树大小成正比
+		 * 被忽略模式整体覆盖的目录不展开，记录到 prunedDirs 中，与完整构建时的剪枝目录一样可以在忽略模式放宽后重新展开
+		 *
+		 * @param fileOrDir 文件或目录
+		 * @param newFiles 接收内容文件
+		 * @param prunedDirs 接收被剪枝的目录
+		 */
+		private void collectContentFiles(@NotNull VirtualFile fileOrDir, @NotNull Set<VirtualFile> newFiles,
+										 @NotNull Set<VirtualFile> prunedDirs) {
+			if (!fileOrDir.isValid()) return;
+			if (!fileOrDir.isDirectory()) {
+				if (isFileInProjectScope(fileOrDir)) newFiles.add(fileOrDir);
+				return;
+			}
+			final IgnoreDirectoryRules rules = getIgnoreDirectoryRules();
+			projectRootManager.getFileIndex().iterateContentUnderDirectory(fileOrDir, file -> {
+				if (!file.isDirectory()) newFiles.add(file);
+				return true;
+			}, file -> {
+				if (!file.isDirectory() || !isIgnoredDirectory(file, rules)) return true;
+				prunedDirs.add(file);
+				return false;
+			});
+		}
+
+		/**
+		 * 判断事件是否为本项目内容中的结构变更
+		 * 只按路径查找根目录表和排除目录表，不查询文件索引，可以在事件分发线程上调用
+		 *
+		 * @param event VFS 事件
+		 * @return 新增、删除、复制、移动或重命名的路径（移动和重命名包括旧路径）在本项目根目录下且不在排除目录中时返回true
+		 */
+		private boolean isProjectStructureEvent(@NotNull VFileEvent event) {
+			return switch (event) {
+				case VFileCreateEvent e -> isInProjectContentPath(e.getPath());
+				case VFileDeleteEvent e -> isInProjectContentPath(e.getPath());
+				case VFileCopyEvent e -> isInProjectContentPath(e.getPath());
+				case VFileMoveEvent e -> isInProjectContentPath(e.getOldPath()) || isInProjectContentPath(e.getNewPath());
+				case VFilePropertyChangeEvent e -> isRenameEvent(e)
+						&& (isInProjectContentPath(e.getOldPath()) || isInProjectContentPath(e.getNewPath()));
+				default -> false;
+			};
+		}
+
+		/**
+		 * 判断事件是否涉及项目根目录本身或其直接子项，内容变更除外
+		 *
+		 * @param event VFS 事件
+		 * @param basePath 项目根目录
+		 */
+		private boolean isBaseDirectoryEvent(@NotNull VFileEvent event, @NotNull String basePath) {
+			return switch (event) {
+				case VFileContentChangeEvent e -> false;
+				case VFileMoveEvent e -> isBaseDirectoryPath(e.getOldPath(), basePath) || isBaseDirectoryPath(e.getNewPath(), basePath);
+				case VFilePropertyChangeEvent e -> isRenameEvent(e)
+						&& (isBaseDirectoryPath(e.getOldPath(), basePath) || isBaseDirectoryPath(e.getNewPath(), basePath));
+				default -> isBaseDirectoryPath(event.getPath(), basePath);
+			};
+		}
+
+		/** 判断路径是否为项目根目录本身或其直接子项 */
+		private static boolean isBaseDirectoryPath(@NotNull String path, @NotNull String basePath) {
+			return path.equals(basePath) || basePath.equals(PathUtil.getParentPath(path));
+		}
+
+		/**
+		 * 记录挂起期间的结构变更路径
+		 * 移动和重命名同时记录新旧路径：快照按 ID 恢复的是文件当前的位置，新位置可能已经移出项目内容
+		 *
+		 * @param event 本项目内容中的结构变更事件
+		 */
+		private void recordSuspendedChange(@NotNull VFileEvent event) {
+			if (suspendedChangesOverflow) return;
+			switch (event) {
+				case VFileMoveEvent e -> {
+					suspendedChangePaths.add(e.getOldPath());
+					suspendedChangePaths.add(e.getNewPath());
+				}
+				case VFilePropertyChangeEvent e -> {
+					suspendedChangePaths.add(e.getOldPath());
+					suspendedChangePaths.add(e.getNewPath());
+				}
+				default -> suspendedChangePaths.add(event.getPath());
+			}
+			final int threshold = config.vfsBatchRebuildThreshold;
+			if (threshold > 0 && suspendedChangePaths.size() > threshold) {
+				suspendedChangesOverflow = true;
+				suspendedChangePaths.clear();
+			}
+		}
+
+		/** 判断路径是否在本项目根目录下且不在排除目录中 */
+		private boolean isInProjectContentPath(@NotNull String path) {
+			return rootTable.isUnderRoot(path) && !excludedRootTable.isUnderRoot(path);
+		}
+
 		/** 判断是否为重命名事件 */
 		private boolean isRenameEvent(VFilePropertyChangeEvent e) {
 			return VirtualFile.PROP_NAME.equals(e.getPropertyName())
@@ -1446,101 +2927,180 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 					&& e.getOldValue() != null;
 		}
 
-		/** 精准删除单文件 */
-		private void processDeletions(List<VirtualFile> filesToDelete) {
-			if (filesToDelete.isEmpty()) return;
-			cacheWriteLock.lock();
+		/** 精准删除文件或目录子树 */
+		private void processDeletions(Collection<Removal> removals) {
+			if (removals.isEmpty()) return;
+			lockIndexForWrite();
 			try {
-				filesToDelete.forEach(this::removeFileFromCache);
-				logger.info(String.format("project[%s]: precise delete %d file(s)", 
-						project.getName(), filesToDelete.size()));
+				int removedCount = 0;
+				final List<Removal> directories = new ArrayList<>();
+				for (Removal removal : removals) {
+					if (removal.directory()) {
+						removedCount += removeSubtreeFromCache(removal.oldPath());
+						directories.add(removal);
+					} else {
+						removedCount += removeFileFromCache(removal.file(), removal.oldPath(), removal.oldName());
+					}
+				}
+				removeSubtreesFromSideSets(directories);
+				if (removedCount > 0) {
+					logger.info(String.format("project[%s]: precise delete %d file(s)",
+							project.getName(), removedCount));
+				}
 			} finally {
 				cacheWriteLock.unlock();
 			}
 		}
 
-		/** 处理新增文件（应用忽略模式过滤） */
-		private void processAdditions(List<VirtualFile> newFiles) {
-			if (newFiles.isEmpty()) return;
-			cacheWriteLock.lock();
+		/**
+		 * 处理新增文件（应用忽略模式过滤）
+		 *
+		 * @param newFiles 新增的内容文件
+		 * @param newPrunedDirectories 收集时被剪枝的目录
+		 */
+		private void processAdditions(Collection<VirtualFile> newFiles, Collection<VirtualFile> newPrunedDirectories) {
+			if (newFiles.isEmpty() && newPrunedDirectories.isEmpty()) return;
+			lockIndexForWrite();
 			try {
-				int addedCount = 0;
+				if (!newPrunedDirectories.isEmpty()) {
+					prunedDirectories.addAll(newPrunedDirectories);
+					prunedDirectoriesCount = prunedDirectories.size();
+				}
+				// 删除阶段可能已把迭代器缓存的父目录集合移出索引
+				indexIterator.resetParentCache();
+				final List<String> addedNames = new ArrayList<>();
 				int ignoredCount = 0;
 				for (VirtualFile file : newFiles) {
-					// 跳过目录
-					if (file.isDirectory()) continue;
+					// 跳过目录和同一批次内已被删除的文件
+					if (file.isDirectory() || !file.isValid()) continue;
 					
 					// 应用忽略模式过滤，与索引阶段保持一致
 					if (shouldIgnoreFile(file)) {
+						ignoredFiles.add(file);
 						ignoredCount++;
 						continue;
 					}
 					
 					// 只有通过过滤的文件才添加到缓存
 					indexIterator.processFile(file);
-					addedCount++;
+					addedNames.add(file.getName());
 				}
-				if (addedCount > 0 || ignoredCount > 0) {
-					logger.info(String.format("project[%s]: add %d file(s), ignored %d file(s)", 
-							project.getName(), addedCount, ignoredCount));
+				ignoredFilesCount = ignoredFiles.size();
+				final int addedCount = addedNames.size();
+				if (addedCount > 0) {
+					// 新增的文件名直接写入评分数据，不重建
+					tokenScorer.addNames(addedNames);
+				}
+				if (addedCount > 0 || ignoredCount > 0 || !newPrunedDirectories.isEmpty()) {
+					logger.info(String.format("project[%s]: add %d file(s), ignored %d file(s), pruned %d dir(s)",
+							project.getName(), addedCount, ignoredCount, newPrunedDirectories.size()));
 				}
 			} finally {
 				cacheWriteLock.unlock();
 			}
 		}
 
-		/** 从缓存中精准删除单个文件 */
-		private void removeFileFromCache(@NotNull VirtualFile file) {
-			removeFromCacheMap(fileCache, file.getName(), file);
-			removeFromCacheMap(fileBaseCache, file.getNameWithoutExtension(), file);
+		/**
+		 * 从缓存中精准删除单个文件
+		 *
+		 * @return 实际移除的文件数（0 或 1）
+		 */
+		private int removeFileFromCache(@NotNull VirtualFile file, @NotNull String oldPath, @NotNull String oldName) {
+			ignoredFiles.remove(oldPath, file);
+			removeFromCacheMap(fileCache, oldName, file);
+			removeFromCacheMap(fileBaseCache, FileUtilRt.getNameWithoutExtension(oldName), file);
+			String parentPath = PathUtil.getParentPath(oldPath);
+			Map<String, VirtualFile> siblings = dirIndex.get(parentPath);
+			if (siblings == null || !siblings.remove(oldName, file)) return 0;
+			if (siblings.isEmpty()) dirIndex.remove(parentPath);
+			return 1;
 		}
 
-		/** 从指定缓存Map中移除文件 */
-		private void removeFromCacheMap(Map<String, List<VirtualFile>> cache, String key, VirtualFile file) {
-			List<VirtualFile> list = cache.get(key);
-			if (list != null) {
-				list.remove(file);
-				if (list.isEmpty()) cache.remove(key);
+		/**
+		 * 按目录旧路径删除整个子树
+		 * 通过父目录索引的前缀区间定位受影响的目录，耗时与子树大小成正比
+		 *
+		 * @return 实际移除的文件数
+		 */
+		private int removeSubtreeFromCache(@NotNull String dirPath) {
+			// '0' 紧跟在 '/' 之后，[dirPath/, dirPath0) 恰好覆盖所有子孙目录
+			NavigableMap<String, Map<String, VirtualFile>> subtree = dirIndex.subMap(dirPath + '/', true, dirPath + '0', false);
+			int removedCount = removeDirectoryEntries(dirIndex.remove(dirPath));
+			for (Map<String, VirtualFile> files : subtree.values()) {
+				removedCount += removeDirectoryEntries(files);
 			}
+			subtree.clear();
+			return removedCount;
 		}
 
-		/** 异步清理所有无效文件，不阻塞UI线程 */
-		private void cleanupInvalidFilesAsync() {
-			ApplicationManager.getApplication().executeOnPooledThread(() -> {
-				cacheWriteLock.lock();
-				try {
-					int removedCount = cleanupCacheMap(fileCache, VirtualFile::getName)
-							+ cleanupCacheMap(fileBaseCache, VirtualFile::getNameWithoutExtension);
-					logger.info(String.format("project[%s]: async cleanup removed %d invalid file(s)", 
-							project.getName(), removedCount));
-				} finally {
-					cacheWriteLock.unlock();
-				}
-			});
+		/**
+		 * 从被忽略文件和剪枝目录中移除目录子树下的条目，需要持有写锁
+		 * 两个集合按条目加入时的路径索引，删除、移动或重命名的目录都按旧路径的前缀区间定位，耗时与子树大小成正比
+		 *
+		 * @param directories 被删除、移动或重命名的目录
+		 */
+		private void removeSubtreesFromSideSets(List<Removal> directories) {
+			if (directories.isEmpty()) return;
+			for (Removal directory : directories) {
+				ignoredFiles.removeSubtree(directory.oldPath());
+				prunedDirectories.removeSubtree(directory.oldPath());
+			}
+			ignoredFilesCount = ignoredFiles.size();
+			prunedDirectoriesCount = prunedDirectories.size();
 		}
 
-		/** 清理缓存Map中的无效文件，返回移除数量 */
-		private int cleanupCacheMap(Map<String, List<VirtualFile>> cache, 
-									 java.util.function.Function<VirtualFile, String> keyExtractor) {
+		/**
+		 * 按路径移除文件或目录子树，包括被忽略文件和剪枝目录中的条目，需要持有写锁
+		 * 用于只知道路径、不知道条目原先是文件还是目录的场合，条目按当前路径匹配
+		 *
+		 * @param paths 互不嵌套的路径
+		 * @return 实际移除的文件数
+		 */
+		private int removePathsFromCache(@NotNull List<String> paths) {
+			if (paths.isEmpty()) return 0;
 			int removedCount = 0;
-			for (Map.Entry<String, List<VirtualFile>> entry : cache.entrySet()) {
-				String key = entry.getKey();
-				List<VirtualFile> value = entry.getValue();
-				int sizeBefore = value.size();
-				value.removeIf(f -> !f.isValid() || !key.equals(keyExtractor.apply(f)));
-				removedCount += sizeBefore - value.size();
-			}
-			cache.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+			for (String path : paths) {
+				removedCount += removeSubtreeFromCache(path);
+				final Map<String, VirtualFile> siblings = dirIndex.get(PathUtil.getParentPath(path));
+				final String name = PathUtil.getFileName(path);
+				final VirtualFile file = siblings == null ? null : siblings.get(name);
+				if (file != null) {
+					removedCount += removeFileFromCache(file, path, name);
+				}
+			}
+			for (String path : paths) {
+				ignoredFiles.removeSubtree(path);
+				prunedDirectories.removeSubtree(path);
+			}
+			ignoredFilesCount = ignoredFiles.size();
+			prunedDirectoriesCount = prunedDirectories.size();
 			return removedCount;
 		}
 
-		/** 判断文件是否在项目内容中 */
-		private boolean isFileInProjectScope(@NotNull VirtualFile file, boolean isDelete) {
-			if (isDelete) {
-				String basePath = project.getBasePath();
-				if (basePath == null) return false;
-				if (!basePath.endsWith("/")) basePath += "/";
-				return file.getPath().startsWith(basePath);
+		/** 从文件名缓存中移除某个目录下的全部文件，按索引时的文件名移除 */
+		private int removeDirectoryEntries(Map<String, VirtualFile> files) {
+			if (files == null || files.isEmpty()) return 0;
+			files.forEach((name, file) -> {
+				removeFromCacheMap(fileCache, name, file);
+				removeFromCacheMap(fileBaseCache, FileUtilRt.getNameWithoutExtension(name), file);
+			});
+			return files.size();
+		}
+
+		/** 从指定缓存Map中移除文件 */
+		private void removeFromCacheMap(Map<String, Set<VirtualFile>> cache, String key, VirtualFile file) {
+			Set<VirtualFile> files = cache.get(key);
+			if (files != null) {
+				files.remove(file);
+				if (files.isEmpty()) cache.remove(key);
+			}
+		}
+
+		/** 判断文件是否在项目内容中，不在任何根目录之下的文件直接排除，不查询文件索引 */
+		private boolean isFileInProjectScope(@NotNull VirtualFile file) {
+			final ContentRootTable roots = rootTable;
+			if (roots.size() > 0 && !roots.isUnderRoot(file.getPath())) {
+				return false;
 			}
 			return projectRootManager.getFileIndex().isInContent(file);
 		}
@@ -2050,27 +3610,39 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 * 删除所有索引数据，将在下次需要时自动重建
 	 */
 	public void clearCache() {
-		cacheWriteLock.lock();
+		lockIndexForWrite();
 		try {
 			fileCache.clear();
 			fileBaseCache.clear();
+			frozenFileNames = FrozenNameIndex.EMPTY;
+			frozenBaseNames = FrozenNameIndex.EMPTY;
+			nameGeneration.incrementAndGet();
+			dirIndex.clear();
+			indexIterator.resetParentCache();
+			ignoredFiles.clear();
+			prunedDirectories.clear();
 			cacheInitialized = false;
+			indexPhase = IndexPhase.NOT_BUILT;
+			indexSuspended = false;
+			transitionTo(IndexLifecycleState.COLD, "cache cleared");
 			lastRebuildTime = 0;
 			lastRebuildDuration = 0;
 			logger.info(String.format("project[%s]: cache cleared manually", project.getName()));
 		} finally {
 			cacheWriteLock.unlock();
 		}
+		FileIdSnapshot.delete(getIndexSnapshotPath());
 	}
 
 	/**
 	 * 获取文件名缓存的大小
+	 * 冻结索引与增量缓存中的文件名数量之和，同名只在增量缓存中新增文件时会重复计数
 	 * @return 缓存中不同文件名的数量
 	 */
 	public int getFileCacheSize() {
 		cacheReadLock.lock();
 		try {
-			return fileCache.size();
+			return frozenFileNames.size() + fileCache.size();
 		} finally {
 			cacheReadLock.unlock();
 		}
@@ -2078,12 +3650,13 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 
 	/**
 	 * 获取文件基础名缓存的大小
+	 * 冻结索引与增量缓存中的基础名数量之和，同名只在增量缓存中新增文件时会重复计数
 	 * @return 缓存中不同基础名的数量
 	 */
 	public int getFileBaseCacheSize() {
 		cacheReadLock.lock();
 		try {
-			return fileBaseCache.size();
+			return frozenBaseNames.size() + fileBaseCache.size();
 		} finally {
 			cacheReadLock.unlock();
 		}
@@ -2096,14 +3669,36 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	public int getTotalCachedFiles() {
 		cacheReadLock.lock();
 		try {
-			return fileCache.values().stream()
-				.mapToInt(List::size)
+			// 父目录索引随增删精确更新，每个已索引的文件恰好出现一次
+			return dirIndex.values().stream()
+				.mapToInt(Map::size)
 				.sum();
 		} finally {
 			cacheReadLock.unlock();
 		}
 	}
 
+	/**
+	 * 创建控制台的超链接驻留缓存
+	 * 命中和未命中计入项目共享的计数，在索引统计中显示链接复用率
+	 *
+	 * @return 驻留缓存
+	 */
+	HyperlinkInfoInterner newLinkInterner() {
+		return new HyperlinkInfoInterner(HyperlinkInfoInterner.DEFAULT_CAPACITY, linkInternHits, linkInternMisses);
+	}
+
+	/**
+	 * 获取超链接复用率
+	 *
+	 * @return 驻留缓存命中占所有超链接的比例，没有超链接时返回 0
+	 */
+	private double getLinkReuseRate() {
+		final long hits = linkInternHits.sum();
+		final long total = hits + linkInternMisses.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
 	/**
 	 * 获取索引统计信息
 	 * @return 索引统计对象
@@ -2117,7 +3712,13 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 				getTotalCachedFiles(),
 				ignoredFilesCount,
 				lastRebuildTime,
-				lastRebuildDuration
+				lastRebuildDuration,
+				indexPhase,
+				lifecycleState,
+				hotNames.getHitRate(),
+				tokenScorer.getSkipRate(TokenScorer.Category.FILE_NAME),
+				tokenScorer.getSkipRate(TokenScorer.Category.BARE_WORD),
+				getLinkReuseRate()
 			);
 		} finally {
 			cacheReadLock.unlock();
@@ -2134,42 +3735,380 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 */
 	@Override
 	public void configChanged(AwesomeConsoleConfigListener.ConfigChangeType changeType) {
+		long startTime = System.currentTimeMillis();
+		// 超链接的构建方式依赖配置（文件类型、多文件修复等），驻留的超链接信息一律失效
+		hyperlinkGeneration.incrementAndGet();
 		try {
-			switch (changeType) {
-				case SEARCH_FILES_CHANGED:
-				case SEARCH_CLASSES_CHANGED:
-				case FILE_TYPES_CHANGED:
-					// 这些变更需要重建缓存
-					logger.info(String.format("project[%s]: Config changed (%s), rebuilding cache", 
-						project.getName(), changeType.name().toLowerCase()));
-					reloadFileCache("config changed: " + changeType.name().toLowerCase());
-					break;
-			case IGNORE_PATTERN_CHANGED:
-					// 忽略模式变更：必须完全重建缓存
-					// 原因：
-					// 1. 当忽略模式放宽时（如从"node_modules"改为"test"），增量清理无法添加回之前被忽略的文件
-					// 2. 索引阶段已过滤被忽略文件，这些文件根本不在缓存中，无法通过增量方式恢复
-					// 3. 完全重建可确保ignoredFilesCount统计准确
-					logger.info(String.format("project[%s]: Ignore pattern changed, rebuilding cache", 
-						project.getName()));
-					reloadFileCache("ignore pattern changed");
-					break;
-				case OTHER_CHANGED:
-					// 其他变更不需要重建缓存，只记录日志
-					logger.info(String.format("project[%s]: Config changed (%s), no cache rebuild needed", 
-						project.getName(), changeType.name().toLowerCase()));
-					break;
-				default:
-					logger.warn(String.format("project[%s]: Unknown config change type: %s", 
-						project.getName(), changeType));
-					break;
-			}
+			// 每种变更只做最小范围的失效处理
+			String decision = switch (changeType) {
+				// 文件搜索：关闭时释放整个索引，开启时完整重建
+				case SEARCH_FILES_CHANGED -> {
+					if (config.searchFiles) {
+						requestRebuild("config changed: search_files_changed");
+						yield "full rebuild requested";
+					}
+					yield String.format("released index of %d file(s)", releaseIndex());
+				}
+				// 类搜索：只影响基础名缓存，关闭时丢弃，开启时从 fileCache 补建，不遍历 VFS
+				case SEARCH_CLASSES_CHANGED -> config.searchClasses
+						? String.format("built base-name index, %d key(s)", buildBaseNameIndex("class search enabled"))
+						: String.format("dropped base-name index, %d key(s)", dropBaseNameIndex());
+				// 忽略模式：文件集合不变，用新模式重新过滤内存中的文件
+				case IGNORE_PATTERN_CHANGED -> {
+					refilterFileCache("ignore pattern changed");
+					yield "re-filtered in memory";
+				}
+				// 文件类型：只在构建超链接时使用，不影响索引
+				case FILE_TYPES_CHANGED -> "no index invalidation, file types are applied per hyperlink";
+				// 类文件扩展名：只影响基础名缓存，类搜索开启时丢弃后按新的扩展名从 fileCache 补建，关闭时等开启时再构建
+				case CLASS_FILE_EXTENSIONS_CHANGED -> {
+					if (!config.searchClasses) {
+						yield "no index invalidation, base-name index is not built";
+					}
+					final int droppedCount = dropBaseNameIndex();
+					yield String.format("rebuilt base-name index, %d -> %d key(s)", droppedCount,
+							buildBaseNameIndex("class file extensions changed"));
+				}
+				// 其他变更不需要重建缓存
+				case OTHER_CHANGED -> "no index invalidation";
+			};
+			logger.info(String.format("project[%s]: Config changed (%s): %s, cost[%dms]",
+					project.getName(), changeType.name().toLowerCase(), decision,
+					System.currentTimeMillis() - startTime));
 		} catch (Exception e) {
 			logger.error(String.format("project[%s]: Error handling config change (%s)", 
 				project.getName(), changeType), e);
 		}
 	}
 
+	/**
+	 * 低内存回调
+	 * 只挂起非活动项目的索引，活动项目的控制台仍依赖索引解析链接
+	 */
+	private void onLowMemory() {
+		if (disposed || project.isDisposed() || !cacheInitialized || rebuildsInProgress.get() > 0) return;
+		if (isProjectActive()) return;
+		try {
+			suspendIndex("low memory");
+		} catch (Exception e) {
+			logger.warn(String.format("project[%s]: Error suspending file index", project.getName()), e);
+		}
+	}
+
+	/**
+	 * 空闲检查
+	 * 开启空闲挂起后，索引处于 HOT 状态且项目既无控制台输出、窗口也未获得焦点超过配置的空闲超时时挂起索引，
+	 * 控制台再次输出时重新预热
+	 */
+	private void checkIdle() {
+		final int timeoutMinutes = config.indexIdleTimeoutMinutes;
+		if (!config.suspendIdleIndex || timeoutMinutes <= 0 || disposed || project.isDisposed()) return;
+		// 窗口拥有焦点说明用户正在使用该项目（编辑、导航等），即使控制台没有输出也不视为空闲
+		if (isProjectFocused()) {
+			lastActivity = System.currentTimeMillis();
+			return;
+		}
+		if (lifecycleState != IndexLifecycleState.HOT || rebuildsInProgress.get() > 0) return;
+		final long idleMs = System.currentTimeMillis() - lastActivity;
+		if (idleMs < TimeUnit.MINUTES.toMillis(timeoutMinutes)) return;
+		try {
+			suspendIndex(String.format("idle for %d min", TimeUnit.MILLISECONDS.toMinutes(idleMs)));
+		} catch (Exception e) {
+			logger.warn(String.format("project[%s]: Error suspending idle file index", project.getName()), e);
+		}
+	}
+
+	/**
+	 * 切换索引生命周期状态
+	 *
+	 * @param state 新状态
+	 * @param reason 切换原因
+	 */
+	private void transitionTo(IndexLifecycleState state, String reason) {
+		final IndexLifecycleState previous = lifecycleState;
+		if (previous == state) return;
+		lifecycleState = state;
+		logger.info(String.format("project[%s]: index state %s -> %s ( %s )",
+				project.getName(), previous.getDisplayName(), state.getDisplayName(), reason));
+	}
+
+	/**
+	 * 获取索引生命周期状态
+	 *
+	 * @return 当前状态
+	 */
+	public IndexLifecycleState getLifecycleState() {
+		return lifecycleState;
+	}
+
+	/**
+	 * 判断项目是否处于活动状态
+	 * 项目窗口拥有焦点，或者最近仍有控制台输出时视为活动
+	 */
+	private boolean isProjectActive() {
+		return System.currentTimeMillis() - lastActivity < INDEX_INACTIVE_THRESHOLD_MS || isProjectFocused();
+	}
+
+	/** 判断项目窗口是否是最后获得焦点的窗口 */
+	private boolean isProjectFocused() {
+		final IdeFrame frame = IdeFocusManager.getGlobalInstance().getLastFocusedFrame();
+		return frame != null && project.equals(frame.getProject());
+	}
+
+	/**
+	 * 挂起索引
+	 * 将已索引文件的 VFS ID 写入快照后丢弃内存中的索引，之后以降级模式工作；
+	 * 快照写入失败时恢复阶段会改为完整重建
+	 *
+	 * @param reason 挂起原因
+	 */
+	void suspendIndex(String reason) {
+		// 先开始记录结构变更，收集 ID 之后发生的变更在恢复时重新扫描；根目录变更则使恢复改为完整重建
+		suspendedChangePaths.clear();
+		suspendedChangesOverflow = false;
+		recordingSuspendedChanges = true;
+		final long rootsStamp = projectRootManager.getModificationCount();
+		final int[] ids;
+		cacheReadLock.lock();
+		try {
+			if (!cacheInitialized) {
+				recordingSuspendedChanges = false;
+				return;
+			}
+			ids = Stream.concat(dirIndex.values().stream().flatMap(files -> files.values().stream()), ignoredFiles.stream())
+					.filter(VirtualFileWithId.class::isInstance)
+					.mapToInt(file -> ((VirtualFileWithId) file).getId())
+					.toArray();
+		} finally {
+			cacheReadLock.unlock();
+		}
+		try {
+			FileIdSnapshot.write(getIndexSnapshotPath(), ids);
+		} catch (IOException e) {
+			logger.warn(String.format("project[%s]: Failed to write index snapshot, will rebuild on restore",
+					project.getName()), e);
+		}
+
+		final int releasedCount;
+		lockIndexForWrite();
+		try {
+			releasedCount = getTotalCachedFiles();
+			// 替换为新的空 Map 而不是 clear()，ConcurrentHashMap 清空后不会收缩内部数组
+			fileCache = new ConcurrentHashMap<>();
+			fileBaseCache = new ConcurrentHashMap<>();
+			frozenFileNames = FrozenNameIndex.EMPTY;
+			frozenBaseNames = FrozenNameIndex.EMPTY;
+			nameGeneration.incrementAndGet();
+			dirIndex = new TreeMap<>();
+			indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache, dirIndex, config.searchClasses,
+					config.classFileExtensionSet);
+			ignoredFiles = new PathIndexedSet<>(VirtualFile::getPath);
+			ignoredFilesCount = 0;
+			cacheInitialized = false;
+			indexPhase = IndexPhase.NOT_BUILT;
+			suspendedRootsStamp = rootsStamp;
+			indexSuspended = true;
+			restoreScheduled.set(false);
+			transitionTo(IndexLifecycleState.SUSPENDED, reason);
+		} finally {
+			cacheWriteLock.unlock();
+		}
+		logger.info(String.format("project[%s]: index suspended ( %s ): released %d file(s), snapshot of %d id(s)",
+				project.getName(), reason, releasedCount, ids.length));
+	}
+
+	/**
+	 * 安排一次索引恢复，挂起期间多次调用只会安排一次
+	 * 已有后台完整重建在进行时不安排，该重建发布后即结束挂起
+	 */
+	private void scheduleIndexRestore() {
+		if (backgroundRebuildRunning.get() || !restoreScheduled.compareAndSet(false, true)) return;
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			try {
+				restoreIndex();
+			} catch (Exception e) {
+				logger.error(String.format("project[%s]: Error restoring file index", project.getName()), e);
+			}
+		});
+	}
+
+	/**
+	 * 恢复挂起的索引
+	 * 优先从快照恢复；项目根目录发生变化、变更路径过多、快照不可用或恢复被取消时改为完整重建，
+	 * 快照读取后即被删除，因此任何一种情况都不会让索引停留在挂起状态。
+	 * 结束后清除恢复标记，之后的控制台输出可以再次安排恢复
+	 */
+	void restoreIndex() {
+		if (disposed || project.isDisposed() || !indexSuspended) return;
+		try {
+			final long startTime = System.currentTimeMillis();
+			final Path snapshotPath = getIndexSnapshotPath();
+			int[] ids = null;
+			try {
+				ids = FileIdSnapshot.read(snapshotPath);
+			} catch (IOException e) {
+				logger.warn(String.format("project[%s]: Failed to read index snapshot", project.getName()), e);
+			}
+			FileIdSnapshot.delete(snapshotPath);
+
+			boolean fallback = false;
+			// 先登记重建再停止记录，此后到达的事件留在队列中，恢复完成后按正常的增量流程处理
+			rebuildsInProgress.incrementAndGet();
+			try {
+				recordingSuspendedChanges = false;
+				final List<String> changedPaths = outermostPaths(suspendedChangePaths);
+				suspendedChangePaths.clear();
+				fallback = ids == null || suspendedChangesOverflow
+						|| projectRootManager.getModificationCount() != suspendedRootsStamp;
+				if (!fallback) {
+					restoreIndexFromSnapshot(ids, changedPaths, startTime);
+				}
+			} catch (ProcessCanceledException e) {
+				logger.info(String.format("project[%s]: index restore cancelled, falling back to rebuild", project.getName()));
+				fallback = true;
+			} finally {
+				endRebuild();
+			}
+			if (fallback) {
+				rebuildFileCacheSnapshot("restore after suspension");
+			}
+		} finally {
+			restoreScheduled.set(false);
+		}
+	}
+
+	/**
+	 * 从快照恢复挂起的索引
+	 * 按快照中的 ID 直接重建各个 Map，不遍历项目内容；挂起期间本项目内容中新增、删除、移动或重命名的路径
+	 * 随后按路径移除并重新扫描，只遍历这些子树
+	 *
+	 * @param snapshotIds 快照中的文件 ID
+	 * @param changedPaths 挂起期间发生结构变更的最外层路径
+	 * @param startTime 开始恢复的时间
+	 */
+	private void restoreIndexFromSnapshot(int[] snapshotIds, List<String> changedPaths, long startTime) {
+		final boolean indexBaseNames = config.searchClasses;
+		prepareFilter();
+		transitionTo(IndexLifecycleState.WARMING, "restore from snapshot");
+		final ProjectRootsSnapshot roots = computeInIndexReadAction(this::captureProjectRoots, () -> false);
+		final PhaseSegment segment = computeInIndexReadAction(() -> {
+			final Map<String, Set<VirtualFile>> restoredFileCache = new HashMap<>();
+			final Map<String, Set<VirtualFile>> restoredFileBaseCache = new HashMap<>();
+			final NavigableMap<String, Map<String, VirtualFile>> restoredDirIndex = new TreeMap<>();
+			final ProgressTrackingIterator iterator = new ProgressTrackingIterator(
+					restoredFileCache, restoredFileBaseCache, restoredDirIndex, indexBaseNames, null, 0
+			);
+			final ManagingFS fs = ManagingFS.getInstance();
+			for (int id : snapshotIds) {
+				final VirtualFile file = fs.findFileById(id);
+				if (file != null && file.isValid()) iterator.processFile(file);
+			}
+			return new PhaseSegment(restoredFileCache, restoredFileBaseCache, restoredDirIndex, iterator);
+		}, () -> false);
+		final Set<VirtualFile> rescannedPrunedDirectories = new LinkedHashSet<>();
+		final Set<VirtualFile> rescannedFiles = computeInIndexReadAction(() -> {
+			final Set<VirtualFile> files = new LinkedHashSet<>();
+			rescannedPrunedDirectories.clear();
+			final LocalFileSystem fs = LocalFileSystem.getInstance();
+			for (String path : changedPaths) {
+				final VirtualFile file = fs.findFileByPath(path);
+				if (file != null) fileCacheUpdateListener.collectContentFiles(file, files, rescannedPrunedDirectories);
+			}
+			return files;
+		}, () -> false);
+
+		lockIndexForWrite();
+		try {
+			// 挂起期间已经有完整重建发布了新索引
+			if (!indexSuspended) return;
+			publishIndex(roots, new ConcurrentHashMap<>(segment.fileCache()),
+					new ConcurrentHashMap<>(segment.fileBaseCache()), segment.dirIndex(), indexBaseNames);
+			ignoredFiles = new PathIndexedSet<>(VirtualFile::getPath, segment.iterator().getIgnoredFiles());
+			ignoredFilesCount = ignoredFiles.size();
+			// 快照中的文件按当前位置恢复，变更路径下的条目先移除再按扫描结果加回，冻结前完成以免改动冻结层
+			fileCacheUpdateListener.removePathsFromCache(changedPaths);
+			fileCacheUpdateListener.processAdditions(rescannedFiles, rescannedPrunedDirectories);
+			freezeIndex();
+			indexedStructureStamp = projectStructureStamp.get();
+			indexedRootsStamp = suspendedRootsStamp;
+			cacheInitialized = true;
+			indexPhase = IndexPhase.COMPLETE;
+			transitionTo(IndexLifecycleState.HOT, "restore from snapshot");
+		} finally {
+			cacheWriteLock.unlock();
+		}
+		logger.info(String.format("project[%s]: index restored from snapshot: %d file(s), rescanned %d path(s), duration[%dms]",
+				project.getName(), getTotalCachedFiles(), changedPaths.size(), System.currentTimeMillis() - startTime));
+	}
+
+	/** 索引快照文件路径，按项目区分 */
+	Path getIndexSnapshotPath() {
+		return Path.of(PathManager.getSystemPath(), "awesome-console", project.getLocationHash() + ".ids");
+	}
+
+	/**
+	 * 释放整个索引（关闭文件搜索时调用）
+	 * 再次开启文件搜索或手动重建时重新构建
+	 *
+	 * @return 释放前缓存的文件数
+	 */
+	private int releaseIndex() {
+		final int releasedCount = getTotalCachedFiles();
+		clearCache();
+		return releasedCount;
+	}
+
+	/**
+	 * 从已索引的文件构建基础名缓存，不遍历 VFS
+	 *
+	 * @param reason 构建原因
+	 * @return 构建后的基础名数量
+	 */
+	private int buildBaseNameIndex(String reason) {
+		lockIndexForWrite();
+		try {
+			if (!baseNameIndexBuilt) {
+				fileBaseCache.clear();
+				final Set<String> extensions = config.classFileExtensionSet;
+				indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache, dirIndex, true, extensions);
+				for (Map<String, VirtualFile> files : dirIndex.values()) {
+					for (VirtualFile file : files.values()) {
+						final String basename = file.getNameWithoutExtension();
+						if (!basename.isEmpty() && AwesomeProjectFilesIterator.hasClassFileExtension(file, extensions)) {
+							fileBaseCache.computeIfAbsent(basename, (key) -> new LinkedHashSet<>()).add(file);
+						}
+					}
+				}
+				baseNameIndexBuilt = true;
+				freezeBaseNameIndex();
+				logger.info(String.format("project[%s]: base-name index built ( %s ): fileBaseCache[%d]",
+						project.getName(), reason, getFileBaseCacheSize()));
+			}
+			return getFileBaseCacheSize();
+		} finally {
+			cacheWriteLock.unlock();
+		}
+	}
+
+	/**
+	 * 丢弃基础名缓存（关闭类搜索时调用）
+	 *
+	 * @return 丢弃的基础名数量
+	 */
+	private int dropBaseNameIndex() {
+		lockIndexForWrite();
+		try {
+			final int droppedCount = getFileBaseCacheSize();
+			indexIterator = new AwesomeProjectFilesIterator(fileCache, fileBaseCache, dirIndex, false);
+			fileBaseCache.clear();
+			frozenBaseNames = FrozenNameIndex.EMPTY;
+			baseNameIndexBuilt = false;
+			return droppedCount;
+		} finally {
+			cacheWriteLock.unlock();
+		}
+	}
+
 	/**
 	 * 统一的忽略检查方法
 	 * 检查文件是否应该被忽略（根据文件名和相对路径）
@@ -2187,6 +4126,21 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		return shouldIgnore(fileName) || shouldIgnore(relativePath);
 	}
 
+	/**
+	 * 使用指定的匹配器检查文件是否应该被忽略，判断规则与 {@link #shouldIgnoreFile(VirtualFile)} 一致
+	 * 用于并行评估，不依赖线程本地的忽略匹配器
+	 *
+	 * @param file 要检查的文件
+	 * @param matcher 忽略模式的匹配器，只在当前任务中使用
+	 * @return 如果文件应该被忽略则返回true
+	 */
+	private boolean shouldIgnoreFile(@NotNull VirtualFile file, @NotNull Matcher matcher) {
+		if (!config.useIgnorePattern) {
+			return false;
+		}
+		return matcher.reset(file.getName()).find() || matcher.reset(getRelativePath(file.getPath())).find();
+	}
+
 	// ==================== Disposable 接口实现 ====================
 
 	/**
@@ -2200,29 +4154,54 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 	 */
 	@Override
 	public void dispose() {
+		// 标记为已释放，丢弃排队中的 VFS 事件和重建请求
+		disposed = true;
+		if (fileCacheUpdateListener != null) {
+			fileCacheUpdateListener.clearPendingEvents();
+		}
+		if (rebuildQueue != null) {
+			rebuildQueue.cancelAllUpdates();
+		}
+		if (idleCheckTask != null) {
+			idleCheckTask.cancel(false);
+		}
+		requestedRebuildReasons.clear();
+		FileIdSnapshot.delete(getIndexSnapshotPath());
+
 		// 1. 清理 ThreadLocal 变量，防止在线程池环境中的内存泄漏
 		try {
 			fileMatcher.remove();
 			urlMatcher.remove();
 			stackTraceElementMatcher.remove();
 			ignoreMatcher.remove();
-			isTerminal.remove();
 		} catch (Exception e) {
 			logger.warn(String.format("project[%s]: Error while cleaning up ThreadLocal variables", project.getName()), e);
 		}
 
 		// 2. 清理缓存，释放内存
-		cacheWriteLock.lock();
+		lockIndexForWrite();
 		try {
 			fileCache.clear();
 			fileBaseCache.clear();
+			frozenFileNames = FrozenNameIndex.EMPTY;
+			frozenBaseNames = FrozenNameIndex.EMPTY;
+			nameGeneration.incrementAndGet();
+			dirIndex.clear();
+			indexIterator.resetParentCache();
+			ignoredFiles.clear();
+			prunedDirectories.clear();
+			hotNames.clear();
 			cacheInitialized = false;
+			indexPhase = IndexPhase.NOT_BUILT;
+			lifecycleState = IndexLifecycleState.COLD;
 			logger.info(String.format("project[%s]: File cache cleared in dispose()", project.getName()));
 		} catch (Exception e) {
 			logger.warn(String.format("project[%s]: Error while clearing cache", project.getName()), e);
 		} finally {
 			cacheWriteLock.unlock();
 		}
+		// 真实路径缓存是应用级的静态单例，项目关闭或插件卸载时一并清空，不让已关闭项目的目录留在内存中
+		RealPathCache.getInstance().clear();
 
 		// 3. 断开 MessageBusConnection（虽然传入了 this 作为父 Disposable 会自动断开，但为了明确性也手动调用）
 		if (messageBusConnection != null) {
@@ -2247,6 +4226,58 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		logger.info(String.format("project[%s]: AwesomeLinkFilter disposed successfully", project.getName()));
 	}
 
+	/**
+	 * 索引构建阶段
+	 * 按代码链接最可能命中的顺序依次构建
+	 */
+	public enum IndexPhase {
+		/** 尚未构建 */
+		NOT_BUILT("not built"),
+		/** 源代码根目录 */
+		SOURCE_ROOTS("source roots"),
+		/** 测试和资源根目录 */
+		TEST_AND_RESOURCE_ROOTS("test and resource roots"),
+		/** 其余项目内容 */
+		REMAINING_CONTENT("remaining content"),
+		/** 全部完成 */
+		COMPLETE("complete");
+
+		private final String displayName;
+
+		IndexPhase(String displayName) {
+			this.displayName = displayName;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+	}
+
+	/**
+	 * 索引生命周期状态
+	 * COLD -> WARMING -> HOT，空闲超时或低内存时 HOT -> SUSPENDED，控制台再次输出时 SUSPENDED -> WARMING
+	 */
+	public enum IndexLifecycleState {
+		/** 没有索引（尚未构建、已清除或已关闭文件搜索） */
+		COLD("cold"),
+		/** 正在构建或恢复索引 */
+		WARMING("warming"),
+		/** 索引可用 */
+		HOT("hot"),
+		/** 索引已挂起，内存已释放，以降级模式工作 */
+		SUSPENDED("suspended");
+
+		private final String displayName;
+
+		IndexLifecycleState(String displayName) {
+			this.displayName = displayName;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+	}
+
 	/**
 	 * 索引统计信息类
 	 */
@@ -2257,15 +4288,29 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		private final int ignoredFiles;
 		private final long lastRebuildTime;
 		private final long lastRebuildDuration;
+		private final IndexPhase indexPhase;
+		private final IndexLifecycleState lifecycleState;
+		private final double hotNameHitRate;
+		private final double fileNameSkipRate;
+		private final double bareWordSkipRate;
+		private final double linkReuseRate;
 
 		public IndexStatistics(int fileCacheSize, int fileBaseCacheSize,
-						  int totalFiles, int ignoredFiles, long lastRebuildTime, long lastRebuildDuration) {
+						  int totalFiles, int ignoredFiles, long lastRebuildTime, long lastRebuildDuration,
+						  IndexPhase indexPhase, IndexLifecycleState lifecycleState, double hotNameHitRate,
+						  double fileNameSkipRate, double bareWordSkipRate, double linkReuseRate) {
 			this.fileCacheSize = fileCacheSize;
 			this.fileBaseCacheSize = fileBaseCacheSize;
 			this.totalFiles = totalFiles;
 			this.ignoredFiles = ignoredFiles;
 			this.lastRebuildTime = lastRebuildTime;
 			this.lastRebuildDuration = lastRebuildDuration;
+			this.indexPhase = indexPhase;
+			this.lifecycleState = lifecycleState;
+			this.hotNameHitRate = hotNameHitRate;
+			this.fileNameSkipRate = fileNameSkipRate;
+			this.bareWordSkipRate = bareWordSkipRate;
+			this.linkReuseRate = linkReuseRate;
 		}
 
 		public int getFileCacheSize() { return fileCacheSize; }
@@ -2274,6 +4319,12 @@ public class AwesomeLinkFilter implements Filter, DumbAware, Disposable, Awesome
 		public int getIgnoredFiles() { return ignoredFiles; }
 		public long getLastRebuildTime() { return lastRebuildTime; }
 		public long getLastRebuildDuration() { return lastRebuildDuration; }
+		public IndexPhase getIndexPhase() { return indexPhase; }
+		public IndexLifecycleState getLifecycleState() { return lifecycleState; }
+		public double getHotNameHitRate() { return hotNameHitRate; }
+		public double getFileNameSkipRate() { return fileNameSkipRate; }
+		public double getBareWordSkipRate() { return bareWordSkipRate; }
+		public double getLinkReuseRate() { return linkReuseRate; }
 
 		/**
 		 * 获取匹配的文件数量（总文件数减去忽略的文件数）
@@ -3,56 +3,19 @@ package awesome.console;
 import com.intellij.execution.filters.ConsoleDependentFilterProvider;
 import com.intellij.execution.filters.Filter;
 import com.intellij.execution.ui.ConsoleView;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.project.ProjectManager;
-import com.intellij.openapi.project.ProjectManagerListener;
-import com.intellij.openapi.util.Disposer;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.terminal.TerminalExecutionConsole;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * Awesome Link Filter 提供者
  * 负责为控制台和终端提供链接过滤器，支持在控制台输出中识别并高亮显示文件路径和URL链接
- * 使用缓存机制为每个项目维护单例Filter，并在项目关闭时清理缓存
+ * 每个控制台获得自己的 {@link AwesomeConsoleFilter}，文件索引由项目级的 {@link AwesomeLinkIndexService} 共享，
+ * 并随项目关闭释放
  */
 // 定义公共类 AwesomeLinkFilterProvider，继承 ConsoleDependentFilterProvider 以提供控制台过滤器
 public class AwesomeLinkFilterProvider extends ConsoleDependentFilterProvider {
-	/** Filter缓存，为每个项目维护一个Filter实例 */
-	// 声明私有静态final成员变量cache，使用ConcurrentHashMap存储项目到过滤器数组的映射，保证线程安全
-	private static final Map<Project, Filter[]> cache = new ConcurrentHashMap<>();
-
-	/**
-	 * 构造函数，订阅项目关闭事件以清理缓存
-	 */
-	// 定义公共无参构造函数
-	public AwesomeLinkFilterProvider() {
-		// 获取应用程序实例，然后获取消息总线，建立连接并传入 Application 作为父 Disposable
-		// 这样可以确保在应用关闭时自动断开连接，防止内存泄漏
-		ApplicationManager.getApplication().getMessageBus().connect(ApplicationManager.getApplication()).subscribe(ProjectManager.TOPIC, new ProjectManagerListener() {
-			// 使用@Override注解标记此方法重写了父接口的方法
-			@Override
-			// 定义项目关闭时的回调方法，接收被关闭的项目作为参数
-			public void projectClosed(@NotNull Project project) {
-				// 从缓存中移除已关闭项目对应的过滤器，并释放资源
-				Filter[] filters = cache.remove(project);
-				// 如果过滤器存在且实现了 Disposable 接口，调用 Disposer.dispose() 释放资源
-				if (filters != null && filters.length > 0 && filters[0] instanceof AwesomeLinkFilter) {
-					try {
-						Disposer.dispose((AwesomeLinkFilter) filters[0]);
-					} catch (Exception e) {
-						// 记录错误但不中断项目关闭流程
-						com.intellij.openapi.diagnostic.Logger.getInstance(AwesomeLinkFilterProvider.class)
-							.warn("Error while disposing AwesomeLinkFilter for project: " + project.getName(), e);
-					}
-				}
-			}
-		});
-	}
 
 	/**
 	 * 为指定的控制台视图获取默认过滤器
@@ -109,29 +72,19 @@ public class AwesomeLinkFilterProvider extends ConsoleDependentFilterProvider {
 	@NotNull
 	// 定义公共方法getDefaultFilters，接收项目和终端标识参数，返回Filter数组
 	public Filter[] getDefaultFilters(@NotNull final Project project, final boolean isTerminal) {
-		// TODO Hack: In the Terminal, Filter only belongs to one thread, but in ConsoleView,
-		//     Filter will run in multiple threads, so set the default value of isTerminal to
-		//     false. There's no better way determine whether a Filter is running in the Terminal,
-		//     even if it's not a good way. Since Filter is cached as a singleton, everything has
-		//     become more complicated.
-		// 从缓存中获取项目对应的过滤器数组，如果不存在则创建新的AwesomeLinkFilter实例并存入缓存
-		Filter[] filters = cache.computeIfAbsent(project, (key) -> new Filter[]{new AwesomeLinkFilter(project)});
-		// 将过滤器数组的第一个元素转换为AwesomeLinkFilter类型，并设置其isTerminal属性值
-		((AwesomeLinkFilter) filters[0]).isTerminal.set(isTerminal);
-		// 返回过滤器数组
-		return filters;
+		// 每次调用创建新的控制台过滤器，终端标识作为字段保存，不再依赖调用线程
+		return new Filter[]{AwesomeLinkIndexService.getInstance(project).createConsoleFilter(isTerminal)};
 	}
 
 	/**
 	 * 获取指定项目的 AwesomeLinkFilter 实例
-	 * 提供给配置表单等其他组件使用，保证获取的是同一个缓存实例
+	 * 提供给配置表单等其他组件使用，保证获取的是项目共享的索引实例
 	 * 
 	 * @param project 项目实例
-	 * @return AwesomeLinkFilter 实例，如果项目为 null 则返回 null
+	 * @return AwesomeLinkFilter 实例
 	 */
 	@NotNull
 	public static AwesomeLinkFilter getFilter(@NotNull final Project project) {
-		Filter[] filters = cache.computeIfAbsent(project, (key) -> new Filter[]{new AwesomeLinkFilter(project)});
-		return (AwesomeLinkFilter) filters[0];
+		return AwesomeLinkIndexService.getInstance(project).getIndex();
 	}
-}
\ No newline at end of file
+}
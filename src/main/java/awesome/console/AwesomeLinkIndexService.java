@@ -0,0 +1,71 @@
+package awesome.console;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 项目级的链接索引服务
+ * 持有项目唯一的 {@link AwesomeLinkFilter}（文件索引与匹配引擎），并为每个控制台创建各自的 {@link AwesomeConsoleFilter}
+ * 服务随项目释放，索引作为子 Disposable 一起释放
+ */
+public final class AwesomeLinkIndexService implements Disposable {
+
+	private final Project project;
+
+	/** 项目共享的索引，首次使用时创建 */
+	private volatile AwesomeLinkFilter index;
+
+	public AwesomeLinkIndexService(@NotNull final Project project) {
+		this.project = project;
+	}
+
+	/**
+	 * 获取项目的索引服务
+	 *
+	 * @param project 项目实例
+	 * @return 索引服务
+	 */
+	@NotNull
+	public static AwesomeLinkIndexService getInstance(@NotNull final Project project) {
+		return project.getService(AwesomeLinkIndexService.class);
+	}
+
+	/**
+	 * 获取项目共享的索引，不存在时创建并开始构建
+	 *
+	 * @return 索引实例
+	 */
+	@NotNull
+	public AwesomeLinkFilter getIndex() {
+		AwesomeLinkFilter current = index;
+		if (current == null) {
+			synchronized (this) {
+				current = index;
+				if (current == null) {
+					current = new AwesomeLinkFilter(project);
+					Disposer.register(this, current);
+					index = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * 为一个控制台创建过滤器
+	 *
+	 * @param terminal 是否为终端
+	 * @return 控制台过滤器
+	 */
+	@NotNull
+	public AwesomeConsoleFilter createConsoleFilter(final boolean terminal) {
+		return new AwesomeConsoleFilter(getIndex(), terminal);
+	}
+
+	@Override
+	public void dispose() {
+		// 索引已注册为子 Disposable，由 Disposer 负责释放
+	}
+}
@@ -3,37 +3,97 @@ package awesome.console;
 import com.intellij.openapi.roots.ContentIterator;
 import com.intellij.openapi.vfs.VirtualFile;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 
 /**
  * 项目文件迭代器，以实现 ContentIterator 接口以支持内容迭代
  * 用于遍历项目中的所有文件，并将文件信息缓存到两个Map中：
  * 1. fileCache: 以完整文件名（包含扩展名）为key
  * 2. fileBaseCache: 以文件基础名（不含扩展名）为key，用于支持完全限定类名的查找
+ * 3. dirIndex: 以父目录路径为key（按路径排序），value 为按文件名索引的直接子文件，
+ *    用于目录删除、移动、重命名时按子树精准更新，以及按路径直接查找文件
+ * 每个key对应一个按插入顺序的集合，增删为 O(1)，候选文件顺序保持稳定
  * */
 public class AwesomeProjectFilesIterator implements ContentIterator {
-	/** 文件名缓存，key为完整文件名（包含扩展名），value为对应的虚拟文件列表 */
-	// 声明私有final成员变量fileCache，用于存储完整文件名到虚拟文件列表的映射
-	private final Map<String, List<VirtualFile>> fileCache;
+	/** 文件名缓存，key为完整文件名（包含扩展名），value为对应的虚拟文件集合 */
+	// 声明私有final成员变量fileCache，用于存储完整文件名到虚拟文件集合的映射
+	private final Map<String, Set<VirtualFile>> fileCache;
 	
-	/** 文件基础名缓存，key为文件名（不含扩展名），value为对应的虚拟文件列表 */
-	// 声明私有final成员变量fileBaseCache，用于存储文件基础名到虚拟文件列表的映射
-	private final Map<String, List<VirtualFile>> fileBaseCache;
+	/** 文件基础名缓存，key为文件名（不含扩展名），value为对应的虚拟文件集合 */
+	// 声明私有final成员变量fileBaseCache，用于存储文件基础名到虚拟文件集合的映射
+	private final Map<String, Set<VirtualFile>> fileBaseCache;
+
+	/** 父目录索引，key为父目录路径，value为该目录下直接包含的文件（key为文件名） */
+	private final NavigableMap<String, Map<String, VirtualFile>> dirIndex;
+
+	/** 是否维护文件基础名缓存，未启用类搜索时不需要 */
+	private final boolean indexBaseNames;
+
+	/** 参与基础名缓存的文件扩展名（小写），为空时所有文件都参与 */
+	private final Set<String> baseNameExtensions;
+
+	/** 因扩展名不在范围内而未加入基础名缓存的文件数 */
+	private int skippedBaseNameCount;
+
+	/** 上一个文件的父目录及其文件表，iterateContent 连续访问同一目录下的文件时避免重复计算路径 */
+	private VirtualFile lastParent;
+	private Map<String, VirtualFile> lastParentFiles;
 
 	/**
 	 * 构造项目文件迭代器
 	 * 
 	 * @param fileCache 文件名缓存Map
 	 * @param fileBaseCache 文件基础名缓存Map
+	 * @param dirIndex 父目录索引
 	 */
-	// 定义包级别可见的构造函数，接收两个Map参数用于初始化缓存
-	AwesomeProjectFilesIterator(final Map<String, List<VirtualFile>> fileCache, final Map<String, List<VirtualFile>> fileBaseCache) {
+	// 定义包级别可见的构造函数，接收三个Map参数用于初始化缓存
+	AwesomeProjectFilesIterator(final Map<String, Set<VirtualFile>> fileCache,
+								final Map<String, Set<VirtualFile>> fileBaseCache,
+								final NavigableMap<String, Map<String, VirtualFile>> dirIndex) {
+		this(fileCache, fileBaseCache, dirIndex, true);
+	}
+
+	/**
+	 * 构造项目文件迭代器
+	 *
+	 * @param fileCache 文件名缓存Map
+	 * @param fileBaseCache 文件基础名缓存Map
+	 * @param dirIndex 父目录索引
+	 * @param indexBaseNames 是否维护文件基础名缓存
+	 */
+	AwesomeProjectFilesIterator(final Map<String, Set<VirtualFile>> fileCache,
+								final Map<String, Set<VirtualFile>> fileBaseCache,
+								final NavigableMap<String, Map<String, VirtualFile>> dirIndex,
+								final boolean indexBaseNames) {
+		this(fileCache, fileBaseCache, dirIndex, indexBaseNames, Set.of());
+	}
+
+	/**
+	 * 构造项目文件迭代器
+	 *
+	 * @param fileCache 文件名缓存Map
+	 * @param fileBaseCache 文件基础名缓存Map
+	 * @param dirIndex 父目录索引
+	 * @param indexBaseNames 是否维护文件基础名缓存
+	 * @param baseNameExtensions 参与基础名缓存的文件扩展名（小写），为空时所有文件都参与
+	 */
+	AwesomeProjectFilesIterator(final Map<String, Set<VirtualFile>> fileCache,
+								final Map<String, Set<VirtualFile>> fileBaseCache,
+								final NavigableMap<String, Map<String, VirtualFile>> dirIndex,
+								final boolean indexBaseNames,
+								final Set<String> baseNameExtensions) {
 		// 将传入的fileCache参数赋值给实例变量fileCache
 		this.fileCache = fileCache;
 		// 将传入的fileBaseCache参数赋值给实例变量fileBaseCache
 		this.fileBaseCache = fileBaseCache;
+		// 将传入的dirIndex参数赋值给实例变量dirIndex
+		this.dirIndex = dirIndex;
+		this.indexBaseNames = indexBaseNames;
+		this.baseNameExtensions = baseNameExtensions;
 	}
 
 	/**
@@ -55,20 +115,79 @@ public class AwesomeProjectFilesIterator implements ContentIterator {
 		/* cache for full file name */
 		// 获取文件的完整名称（包含扩展名）并存储到filename变量中
 		final String filename = file.getName();
-		// 在fileCache中查找filename对应的列表，如果不存在则创建新的ArrayList，然后将当前文件添加到列表中
-		fileCache.computeIfAbsent(filename, (key) -> new ArrayList<>()).add(file);
+		// 在fileCache中查找filename对应的集合，如果不存在则创建新的LinkedHashSet，然后将当前文件添加到集合中
+		fileCache.computeIfAbsent(filename, (key) -> new LinkedHashSet<>()).add(file);
+
+		/* cache for parent directory (subtree updates) */
+		addToParentDirectory(file);
 
 		/* cache for basename (fully qualified class names) */
 		// 获取文件的基础名称（不含扩展名）并存储到basename变量中
 		final String basename = file.getNameWithoutExtension();
-		// 判断基础名称是否为空
-		if (basename.isEmpty()) {
-			// 如果基础名称为空，返回true继续迭代，不进行缓存操作
+		// 判断基础名称是否为空，或者不需要维护基础名缓存
+		if (basename.isEmpty() || !indexBaseNames) {
+			// 返回true继续迭代，不进行缓存操作
+			return true;
+		}
+		// 只有可能对应类名的文件才加入基础名缓存
+		if (!hasClassFileExtension(file, baseNameExtensions)) {
+			skippedBaseNameCount++;
 			return true;
 		}
-		// 在fileBaseCache中查找basename对应的列表，如果不存在则创建新的ArrayList，然后将当前文件添加到列表中
-		fileBaseCache.computeIfAbsent(basename, (key) -> new ArrayList<>()).add(file);
+		// 在fileBaseCache中查找basename对应的集合，如果不存在则创建新的LinkedHashSet，然后将当前文件添加到集合中
+		fileBaseCache.computeIfAbsent(basename, (key) -> new LinkedHashSet<>()).add(file);
 		// 返回true表示继续迭代处理下一个文件
 		return true;
 	}
+
+	/**
+	 * 判断文件扩展名是否在基础名缓存的范围内
+	 *
+	 * @param file 文件
+	 * @param extensions 参与基础名缓存的文件扩展名（小写），为空时所有文件都在范围内
+	 * @return 在范围内时返回true
+	 */
+	static boolean hasClassFileExtension(final VirtualFile file, final Set<String> extensions) {
+		if (extensions.isEmpty()) {
+			return true;
+		}
+		final String extension = file.getExtension();
+		return extension != null && extensions.contains(extension.toLowerCase());
+	}
+
+	/**
+	 * 获取因扩展名不在范围内而未加入基础名缓存的文件数
+	 *
+	 * @return 跳过的文件数
+	 */
+	int getSkippedBaseNameCount() {
+		return skippedBaseNameCount;
+	}
+
+	/**
+	 * 将文件登记到父目录索引中
+	 *
+	 * @param file 要登记的文件
+	 */
+	private void addToParentDirectory(final VirtualFile file) {
+		final VirtualFile parent = file.getParent();
+		if (parent == null) {
+			return;
+		}
+		// 同一目录下的文件通常连续出现，复用上一次查到的文件表
+		if (parent != lastParent || lastParentFiles == null) {
+			lastParentFiles = dirIndex.computeIfAbsent(parent.getPath(), (key) -> new LinkedHashMap<>());
+			lastParent = parent;
+		}
+		lastParentFiles.put(file.getName(), file);
+	}
+
+	/**
+	 * 丢弃缓存的父目录文件表
+	 * 增量删除可能把该文件表移出索引，之后再增量添加前需要调用
+	 */
+	void resetParentCache() {
+		lastParent = null;
+		lastParentFiles = null;
+	}
 }
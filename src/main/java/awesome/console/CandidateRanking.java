@@ -0,0 +1,94 @@
+package awesome.console;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 同名候选文件的排序规则
+ * 源代码根目录下的文件在前，其次是测试和资源根目录，其余内容在最后；同一层级内路径短的在前，长度相同时按路径排序
+ * <p>
+ * 查询时按此顺序惰性校验，取到结果上限即停止。冻结名称索引时按它排序，分阶段构建、重新过滤和快照恢复都经过冻结，
+ * 因此顺序与文件的遍历或合并顺序无关
+ * 不可修改，根目录变化时整体替换
+ */
+final class CandidateRanking {
+
+	/** 没有源代码根目录时的排序规则，只按路径排序 */
+	static final CandidateRanking NONE = new CandidateRanking(ContentRootTable.EMPTY, ContentRootTable.EMPTY);
+
+	/** 源代码根目录 */
+	private final ContentRootTable productionRoots;
+
+	/** 所有源代码根目录，包括测试和资源根目录 */
+	private final ContentRootTable sourceRoots;
+
+	private CandidateRanking(ContentRootTable productionRoots, ContentRootTable sourceRoots) {
+		this.productionRoots = productionRoots;
+		this.sourceRoots = sourceRoots;
+	}
+
+	/**
+	 * 构建排序规则
+	 *
+	 * @param productionRoots 源代码根目录的路径
+	 * @param sourceRoots 所有源代码根目录的路径，包括测试和资源根目录
+	 * @return 排序规则
+	 */
+	static CandidateRanking of(Collection<String> productionRoots, Collection<String> sourceRoots) {
+		return new CandidateRanking(ContentRootTable.ofPaths(null, productionRoots), ContentRootTable.ofPaths(null, sourceRoots));
+	}
+
+	/**
+	 * 获取路径所在的层级
+	 *
+	 * @param path 使用 / 分隔的绝对路径
+	 * @return 源代码根目录下为 0，测试和资源根目录下为 1，其余为 2
+	 */
+	int tier(String path) {
+		if (productionRoots.isUnderRoot(path)) {
+			return 0;
+		}
+		return sourceRoots.isUnderRoot(path) ? 1 : 2;
+	}
+
+	/**
+	 * 比较两个路径的先后
+	 *
+	 * @param left 使用 / 分隔的绝对路径
+	 * @param right 使用 / 分隔的绝对路径
+	 * @return 与 {@link java.util.Comparator#compare} 相同
+	 */
+	int compare(String left, String right) {
+		int cmp = Integer.compare(tier(left), tier(right));
+		if (cmp == 0) {
+			cmp = Integer.compare(left.length(), right.length());
+		}
+		return cmp != 0 ? cmp : left.compareTo(right);
+	}
+
+	/**
+	 * 按排序规则排列候选文件，每个文件的路径只获取一次
+	 *
+	 * @param files 候选文件
+	 * @return 排序后的新列表
+	 */
+	List<VirtualFile> rank(Collection<VirtualFile> files) {
+		if (files.size() < 2) {
+			return new ArrayList<>(files);
+		}
+		final List<RankedFile> ranked = new ArrayList<>(files.size());
+		for (VirtualFile file : files) {
+			ranked.add(new RankedFile(file.getPath(), file));
+		}
+		ranked.sort((left, right) -> compare(left.path(), right.path()));
+		final List<VirtualFile> result = new ArrayList<>(ranked.size());
+		for (RankedFile entry : ranked) {
+			result.add(entry.file());
+		}
+		return result;
+	}
+
+	private record RankedFile(String path, VirtualFile file) { }
+}
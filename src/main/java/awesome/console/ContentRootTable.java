@@ -0,0 +1,196 @@
+package awesome.console;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 项目根目录表
+ * 由项目根目录和所有内容根构建，只保留最外层的根（嵌套在其他根之下的内容根归属外层根），
+ * 根路径统一以 / 结尾并排序；最外层的根互不包含，因此任意绝对路径的所属根就是不大于它的最后一个根（若为其前缀），
+ * 查找只需一次二分。不带 / 结尾的根目录路径本身（如 VirtualFile.getPath() 返回的路径）排在该根之前，
+ * 未找到所属根时再按带 / 结尾的形式查找一次
+ * 项目根目录之下的路径总是归属项目根目录，即使项目根目录本身位于某个内容根之下（如内容根 /ws、项目根目录 /ws/app），
+ * 以免相对路径多出一层目录，使以 ^ 锚定的忽略模式不再匹配
+ * 不可修改，根目录变化时整体替换
+ */
+final class ContentRootTable {
+
+	/** 没有任何根目录的空表 */
+	static final ContentRootTable EMPTY = new ContentRootTable(null, new String[0]);
+
+	/** 项目根目录，以 / 结尾 */
+	@Nullable
+	private final String basePath;
+
+	/** 排序后的最外层根目录，以 / 结尾 */
+	private final String[] roots;
+
+	private ContentRootTable(@Nullable String basePath, String[] roots) {
+		this.basePath = basePath;
+		this.roots = roots;
+	}
+
+	/**
+	 * 构建根目录表
+	 *
+	 * @param basePath 项目根目录，可以为null
+	 * @param contentRoots 内容根
+	 * @return 根目录表
+	 */
+	static ContentRootTable of(@Nullable String basePath, @NotNull Collection<VirtualFile> contentRoots) {
+		final List<String> rootPaths = new ArrayList<>(contentRoots.size());
+		for (VirtualFile root : contentRoots) {
+			rootPaths.add(root.getPath());
+		}
+		return ofPaths(basePath, rootPaths);
+	}
+
+	/**
+	 * 由根目录路径构建根目录表
+	 *
+	 * @param basePath 项目根目录，可以为null
+	 * @param rootPaths 内容根的路径，使用 / 分隔，可以带或不带 / 结尾
+	 * @return 根目录表
+	 */
+	static ContentRootTable ofPaths(@Nullable String basePath, @NotNull Collection<String> rootPaths) {
+		final List<String> paths = new ArrayList<>(rootPaths.size() + 1);
+		final String base = null == basePath ? null : withTrailingSlash(basePath);
+		if (null != base) {
+			paths.add(base);
+		}
+		for (String root : rootPaths) {
+			paths.add(withTrailingSlash(root));
+		}
+		paths.sort(null);
+		// 排序后外层根排在其下所有路径之前，只需与上一个保留的根比较
+		final List<String> outermost = new ArrayList<>(paths.size());
+		for (String path : paths) {
+			if (outermost.isEmpty() || !path.startsWith(outermost.get(outermost.size() - 1))) {
+				outermost.add(path);
+			}
+		}
+		return new ContentRootTable(base, outermost.toArray(new String[0]));
+	}
+
+	/**
+	 * 获取项目根目录
+	 *
+	 * @return 项目根目录（不以 / 结尾），默认项目返回null
+	 */
+	@Nullable
+	String getBasePath() {
+		return null == basePath ? null : basePath.substring(0, basePath.length() - 1);
+	}
+
+	/**
+	 * 查找路径所属的根目录
+	 *
+	 * @param path 使用 / 分隔的绝对路径
+	 * @return 所属的根目录（以 / 结尾），项目根目录之下的路径返回项目根目录，其余路径返回所在的最外层根，
+	 * 不在任何根目录之下时返回null；根目录本身（带或不带 / 结尾）属于该根
+	 */
+	@Nullable
+	String findRoot(@NotNull String path) {
+		if (null != basePath && isUnder(path, basePath)) {
+			return basePath;
+		}
+		int index = Arrays.binarySearch(roots, path);
+		if (index >= 0) {
+			// 与某个根完全相同的路径只能是带 / 结尾的目录路径，它就是这个根本身
+			return roots[index];
+		}
+		index = -index - 2;
+		if (index >= 0 && path.startsWith(roots[index])) {
+			return roots[index];
+		}
+		// 不带 / 结尾的根目录本身排在该根之前，两者之间还可能隔着以小于 / 的字符（如 - 和 .）延续的其他根，
+		// 如 /a 与 /a/ 之间的 /a-b/，因此不能只看相邻的根
+		return path.endsWith("/") ? null : findRootItself(path);
+	}
+
+	/** 判断路径是否是根本身（带或不带 / 结尾）或在根之下 */
+	private static boolean isUnder(String path, String root) {
+		return path.startsWith(root) || (path.length() == root.length() - 1 && root.startsWith(path));
+	}
+
+	/**
+	 * 查找与不带 / 结尾的路径相同的根，相当于查找 path + "/"，不拼接字符串
+	 */
+	@Nullable
+	private String findRootItself(String path) {
+		int low = 0;
+		int high = roots.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int cmp = compareToDirectory(roots[mid], path);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return roots[mid];
+			}
+		}
+		return null;
+	}
+
+	/** 按 String.compareTo 的顺序比较根与 path + "/" */
+	private static int compareToDirectory(String root, String path) {
+		final int length = Math.min(root.length(), path.length());
+		for (int i = 0; i < length; i++) {
+			final int diff = root.charAt(i) - path.charAt(i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		if (root.length() <= path.length()) {
+			// 根是 path + "/" 的真前缀
+			return -1;
+		}
+		final int diff = root.charAt(path.length()) - '/';
+		return diff != 0 ? diff : root.length() - path.length() - 1;
+	}
+
+	/**
+	 * 判断路径是否在某个根目录之下
+	 *
+	 * @param path 使用 / 分隔的绝对路径
+	 * @return 在根目录之下时返回true
+	 */
+	boolean isUnderRoot(@NotNull String path) {
+		return null != findRoot(path);
+	}
+
+	/**
+	 * 将绝对路径转换为相对于所属根目录的路径
+	 *
+	 * @param path 使用 / 分隔的绝对路径
+	 * @return 相对路径，根目录本身返回空字符串，不在任何根目录之下时返回原路径
+	 */
+	@NotNull
+	String relativize(@NotNull String path) {
+		final String root = findRoot(path);
+		if (null == root) {
+			return path;
+		}
+		return path.length() < root.length() ? "" : path.substring(root.length());
+	}
+
+	/**
+	 * 获取根目录数量
+	 *
+	 * @return 最外层根目录的数量
+	 */
+	int size() {
+		return roots.length;
+	}
+
+	private static String withTrailingSlash(String path) {
+		return path.endsWith("/") ? path : path + "/";
+	}
+}
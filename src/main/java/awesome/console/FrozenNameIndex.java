@@ -0,0 +1,109 @@
+package awesome.console;
+
+import awesome.console.util.FrontCodedNameDictionary;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 冻结的名称索引
+ * 完整构建后由文件名缓存或基础名缓存转换而来：名称保存在堆外的前缀压缩字典中，堆上只保留每个名称对应的文件 ID 数组
+ * 不可修改，构建后新增的文件写入普通的缓存（增量层），移除的文件在查询时过滤
+ */
+final class FrozenNameIndex {
+
+	/** 空索引 */
+	static final FrozenNameIndex EMPTY = new FrozenNameIndex(FrontCodedNameDictionary.EMPTY, new int[0][]);
+
+	/** 名称字典，序号对应 postings 的下标 */
+	private final FrontCodedNameDictionary names;
+
+	/** 每个名称对应的文件 ID，按候选文件的排序规则排列 */
+	private final int[][] postings;
+
+	private FrozenNameIndex(FrontCodedNameDictionary names, int[][] postings) {
+		this.names = names;
+		this.postings = postings;
+	}
+
+	/**
+	 * 冻结名称缓存
+	 * 每个名称下的文件按排序规则排列；没有 VFS ID 的文件无法放入冻结索引，按同样的顺序留在 remainder 中
+	 *
+	 * @param cache 名称缓存
+	 * @param remainder 接收无法冻结的文件
+	 * @param ranking 候选文件的排序规则
+	 * @return 冻结的索引
+	 */
+	static FrozenNameIndex freeze(Map<String, Set<VirtualFile>> cache, Map<String, Set<VirtualFile>> remainder,
+								  CandidateRanking ranking) {
+		if (cache.isEmpty()) {
+			return EMPTY;
+		}
+		final List<String> sortedNames = new ArrayList<>(cache.keySet());
+		sortedNames.sort(null);
+		final List<String> frozenNames = new ArrayList<>(sortedNames.size());
+		final List<int[]> frozenPostings = new ArrayList<>(sortedNames.size());
+		for (String name : sortedNames) {
+			final List<VirtualFile> files = ranking.rank(cache.get(name));
+			final int[] ids = new int[files.size()];
+			int count = 0;
+			for (VirtualFile file : files) {
+				if (file instanceof VirtualFileWithId fileWithId) {
+					ids[count++] = fileWithId.getId();
+				} else {
+					remainder.computeIfAbsent(name, (key) -> new LinkedHashSet<>()).add(file);
+				}
+			}
+			if (count > 0) {
+				frozenNames.add(name);
+				frozenPostings.add(count == ids.length ? ids : Arrays.copyOf(ids, count));
+			}
+		}
+		return new FrozenNameIndex(FrontCodedNameDictionary.build(frozenNames), frozenPostings.toArray(new int[0][]));
+	}
+
+	/**
+	 * 获取名称对应的文件 ID
+	 *
+	 * @param name 名称
+	 * @return 文件 ID，不存在时返回空数组
+	 */
+	int[] idsOf(String name) {
+		final int ordinal = names.indexOf(name);
+		return ordinal < 0 ? new int[0] : postings[ordinal];
+	}
+
+	/**
+	 * 遍历所有名称，包括冻结后所有文件都已移除的名称
+	 *
+	 * @param action 接收名称
+	 */
+	void forEachName(Consumer<String> action) {
+		names.forEach(action);
+	}
+
+	/**
+	 * 获取名称数量
+	 *
+	 * @return 名称数量
+	 */
+	int size() {
+		return names.size();
+	}
+
+	/**
+	 * 获取字典的堆外占用
+	 *
+	 * @return 字节数
+	 */
+	long offHeapBytes() {
+		return names.sizeInBytes();
+	}
+}
@@ -0,0 +1,253 @@
+package awesome.console;
+
+import awesome.console.util.NameBloomFilter;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 路径匹配项的可信度评分
+ * 在解析路径和访问磁盘之前，判断一个匹配到的词是否可能是文件：
+ * 不含分隔符的词只可能解析到项目根目录下的条目，或按文件名（类搜索时按基础名）在索引中查找，
+ * 因此只需检查项目根目录的直接子项、索引中的文件名布隆过滤器和项目中出现过的扩展名
+ * <p>
+ * 评分数据随文件名代数（发布、重新过滤或恢复索引时递增）失效，项目根目录的直接子项变化时由调用方显式失效，
+ * 由调用方在后台重建；失效期间所有词都视为可信，不会跳过。
+ * 增量新增的文件名直接写入当前快照（和正在进行的重建）；删除的文件名不移出，只会让评分更宽松
+ */
+final class TokenScorer {
+
+	/** 词的类别 */
+	enum Category {
+		/** 含路径分隔符、驱动器或 ~ 的路径，总是解析 */
+		PATH,
+		/** 不含分隔符但有扩展名的文件名 */
+		FILE_NAME,
+		/** 不含分隔符也没有扩展名的单词 */
+		BARE_WORD
+	}
+
+	/** 布隆过滤器的误判率 */
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	/**
+	 * 评分数据快照
+	 *
+	 * @param generation 构建时的文件名代数
+	 * @param names 索引中的文件名和基础名
+	 * @param extensions 索引中出现过的扩展名，可并发写入
+	 * @param baseEntries 项目根目录的直接子项名称（小写），包括未被索引的目录和文件
+	 */
+	private record Snapshot(long generation, NameBloomFilter names, Set<String> extensions, Set<String> baseEntries) { }
+
+	/** 当前快照，失效时为null */
+	private volatile Snapshot snapshot;
+
+	/** 失效次数，重建期间发生失效时丢弃重建结果 */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/** 重建期间新增的文件名，重建完成时补入新快照；没有进行中的重建时为null */
+	private List<String> pendingNames;
+
+	/** 各类别评分的词数 */
+	private final LongAdder[] scored = newCounters();
+
+	/** 各类别跳过的词数 */
+	private final LongAdder[] skipped = newCounters();
+
+	/**
+	 * 判断快照是否需要重建
+	 *
+	 * @param generation 当前文件名代数
+	 * @return 没有快照或快照早于当前代数时返回true
+	 */
+	boolean isStale(long generation) {
+		final Snapshot current = snapshot;
+		return null == current || current.generation != generation;
+	}
+
+	/** 使快照失效，如项目根目录下的条目发生变化时 */
+	synchronized void invalidate() {
+		invalidations.incrementAndGet();
+		snapshot = null;
+		pendingNames = null;
+	}
+
+	/**
+	 * 开始重建，之后新增的文件名在重建完成时补入新快照
+	 * 应在复制文件名的同一次读锁内调用，新增文件名的写锁在此之前或之后，不会遗漏
+	 */
+	synchronized void beginRebuild() {
+		pendingNames = new ArrayList<>();
+	}
+
+	/**
+	 * 重建快照，复制文件名前应先调用 beginRebuild()
+	 *
+	 * @param generation 与文件名在同一次读锁内读取的文件名代数
+	 * @param fileNames 索引中的文件名
+	 * @param basePath 项目根目录，可以为null
+	 */
+	void rebuild(long generation, @NotNull Collection<String> fileNames, @Nullable String basePath) {
+		final long invalidation = invalidations.get();
+		final NameBloomFilter names = new NameBloomFilter(fileNames.size() * 2, FALSE_POSITIVE_RATE);
+		final Set<String> extensions = ConcurrentHashMap.newKeySet();
+		for (String fileName : fileNames) {
+			addName(names, extensions, fileName);
+		}
+		final Set<String> baseEntries = new HashSet<>();
+		final String[] children = null == basePath ? null : new File(basePath).list();
+		if (null != children) {
+			for (String child : children) {
+				// 不区分大小写的文件系统上，单词可能以不同的大小写解析到同一个条目
+				baseEntries.add(child.toLowerCase(Locale.ROOT));
+			}
+		}
+		synchronized (this) {
+			if (invalidation != invalidations.get()) {
+				return;
+			}
+			if (null != pendingNames) {
+				for (String fileName : pendingNames) {
+					addName(names, extensions, fileName);
+				}
+				pendingNames = null;
+			}
+			snapshot = new Snapshot(generation, names, extensions, Set.copyOf(baseEntries));
+		}
+	}
+
+	/**
+	 * 把增量新增的文件名写入当前快照，重建期间同时记录下来补入新快照
+	 * 由持有索引写锁的线程调用，同一时刻只有一个写入者
+	 *
+	 * @param fileNames 新增文件的文件名
+	 */
+	synchronized void addNames(@NotNull Collection<String> fileNames) {
+		final Snapshot current = snapshot;
+		if (null != current) {
+			for (String fileName : fileNames) {
+				addName(current.names, current.extensions, fileName);
+			}
+		}
+		if (null != pendingNames) {
+			pendingNames.addAll(fileNames);
+		}
+	}
+
+	private static void addName(NameBloomFilter names, Set<String> extensions, String fileName) {
+		names.add(fileName);
+		final int dot = fileName.lastIndexOf('.');
+		if (dot >= 0) {
+			// 与 VirtualFile.getNameWithoutExtension() 和 getExtension() 的拆分方式一致，供类搜索按基础名查找
+			names.add(fileName.substring(0, dot));
+			extensions.add(fileName.substring(dot + 1));
+		}
+	}
+
+	/**
+	 * 判断匹配到的词是否可能是文件，并记录统计
+	 *
+	 * @param token 匹配到的路径（不含行号和列号）
+	 * @param generation 当前文件名代数，快照不属于该代数时不跳过
+	 * @param classSearchDepth 类搜索时检查的末尾点号分段数，未启用类搜索时为 0
+	 * @return 可能是文件时返回true，返回false时可以跳过解析
+	 */
+	boolean isPlausible(@NotNull String token, long generation, int classSearchDepth) {
+		final Category category = categorize(token);
+		scored[category.ordinal()].increment();
+		final Snapshot current = snapshot;
+		if (null == current || current.generation != generation || category == Category.PATH
+				|| isPlausible(current, category, token, classSearchDepth)) {
+			return true;
+		}
+		skipped[category.ordinal()].increment();
+		return false;
+	}
+
+	private static boolean isPlausible(Snapshot snapshot, Category category, String token, int classSearchDepth) {
+		// 相对路径基于项目根目录解析，根目录下存在的条目（包括目录）都能被链接
+		if (snapshot.baseEntries.contains(token.toLowerCase(Locale.ROOT))) {
+			return true;
+		}
+		if (category == Category.BARE_WORD) {
+			return snapshot.names.mightContain(token);
+		}
+		// 扩展名是精确集合，先于布隆过滤器检查，项目中不存在的扩展名不会被误判
+		final int dot = token.lastIndexOf('.');
+		if (snapshot.extensions.contains(token.substring(dot + 1)) && snapshot.names.mightContain(token)) {
+			return true;
+		}
+		// 类搜索按末尾的点号分段逐级查找基础名（如 com.example.MyClass 依次查找 MyClass、example）
+		int end = token.length();
+		for (int i = 0; i < classSearchDepth && end > 0; i++) {
+			final int start = token.lastIndexOf('.', end - 1);
+			if (start < 0) {
+				break;
+			}
+			if (start + 1 < end && snapshot.names.mightContain(token.substring(start + 1, end))) {
+				return true;
+			}
+			end = start;
+		}
+		return false;
+	}
+
+	/**
+	 * 判断词的类别
+	 *
+	 * @param token 匹配到的路径
+	 * @return 类别
+	 */
+	static Category categorize(@NotNull String token) {
+		if (token.isEmpty() || token.charAt(0) == '~') {
+			return Category.PATH;
+		}
+		boolean onlyDots = true;
+		int dot = -1;
+		for (int i = 0; i < token.length(); i++) {
+			final char c = token.charAt(i);
+			if (c == '/' || c == '\\' || c == ':') {
+				return Category.PATH;
+			}
+			if (c == '.') {
+				dot = i;
+			} else {
+				onlyDots = false;
+			}
+		}
+		if (onlyDots) {
+			// . 和 .. 是目录
+			return Category.PATH;
+		}
+		return dot >= 0 && dot < token.length() - 1 ? Category.FILE_NAME : Category.BARE_WORD;
+	}
+
+	/**
+	 * 获取类别的跳过率
+	 *
+	 * @param category 类别
+	 * @return 跳过的词占评分的词的比例，没有评分时返回 0
+	 */
+	double getSkipRate(@NotNull Category category) {
+		final long total = scored[category.ordinal()].sum();
+		return total == 0 ? 0 : (double) skipped[category.ordinal()].sum() / total;
+	}
+
+	private static LongAdder[] newCounters() {
+		final LongAdder[] counters = new LongAdder[Category.values().length];
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new LongAdder();
+		}
+		return counters;
+	}
+}
@@ -5,7 +5,9 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.application.ApplicationManager;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -60,6 +62,7 @@ public class AwesomeConsoleConfig implements Configurable {
 
 		form.searchForURLsCheckBox.setSelected(storage.searchUrls);
 		form.initMatchFiles(storage.searchFiles, storage.searchClasses);
+		form.initClassFileExtensions(storage.getClassFileExtensions());
 		form.initLimitResult(storage.useResultLimit, storage.getResultLimit());
 
 		form.maxLengthSpinner.setValue(storage.LINE_MAX_LENGTH);
@@ -75,6 +78,8 @@ public class AwesomeConsoleConfig implements Configurable {
 		form.preserveAnsiColorsCheckBox.setSelected(storage.preserveAnsiColors);
 		form.showNotificationsCheckBox.setSelected(storage.showNotifications);
 		form.underlineOnlyCheckBox.setSelected(storage.underlineOnly);
+
+		form.initSuspendIdleIndex(storage.suspendIdleIndex, storage.indexIdleTimeoutMinutes);
 	}
 
 	/**
@@ -163,6 +168,7 @@ public class AwesomeConsoleConfig implements Configurable {
 				|| form.searchForURLsCheckBox.isSelected() != storage.searchUrls
 				|| form.searchForFilesCheckBox.isSelected() != storage.searchFiles
 			|| form.searchForClassesCheckBox.isSelected() != storage.searchClasses
+				|| !form.classFileExtensionsTextField.getText().trim().equals(storage.getClassFileExtensions())
 				|| form.limitResultCheckBox.isSelected() != storage.useResultLimit
 				|| !Objects.equals(form.limitResultSpinner.getValue(), storage.getResultLimit())
 				|| form.ignorePatternCheckBox.isSelected() != storage.useIgnorePattern
@@ -175,6 +181,8 @@ public class AwesomeConsoleConfig implements Configurable {
 				|| form.preserveAnsiColorsCheckBox.isSelected() != storage.preserveAnsiColors
 				|| form.showNotificationsCheckBox.isSelected() != storage.showNotifications
 				|| form.underlineOnlyCheckBox.isSelected() != storage.underlineOnly
+				|| form.suspendIdleIndexCheckBox.isSelected() != storage.suspendIdleIndex
+				|| !Objects.equals(form.idleTimeoutSpinner.getValue(), storage.indexIdleTimeoutMinutes)
 				;
 	}
 
@@ -200,7 +208,7 @@ public class AwesomeConsoleConfig implements Configurable {
 		}
 
 		// 检测配置变更，用于决定是否需要通知监听器
-		AwesomeConsoleConfigListener.ConfigChangeType changeType = detectConfigChanges(useIgnorePattern, ignorePatternText);
+		Set<AwesomeConsoleConfigListener.ConfigChangeType> changeTypes = detectConfigChanges(useIgnorePattern, ignorePatternText);
 
 		storage.LIMIT_LINE_LENGTH = form.limitLineMatchingByCheckBox.isSelected();
 		storage.LINE_MAX_LENGTH = maxLength;
@@ -209,6 +217,8 @@ public class AwesomeConsoleConfig implements Configurable {
 		storage.searchUrls = form.searchForURLsCheckBox.isSelected();
 		storage.searchFiles = form.searchForFilesCheckBox.isSelected();
 		storage.searchClasses = form.searchForClassesCheckBox.isSelected();
+		storage.setClassFileExtensions(form.classFileExtensionsTextField.getText().trim());
+		form.classFileExtensionsTextField.setText(storage.getClassFileExtensions());
 
 		storage.useResultLimit = form.limitResultCheckBox.isSelected();
 		storage.setResultLimit((int) form.limitResultSpinner.getValue());
@@ -229,32 +239,37 @@ public class AwesomeConsoleConfig implements Configurable {
 		storage.showNotifications = form.showNotificationsCheckBox.isSelected();
 		storage.underlineOnly = form.underlineOnlyCheckBox.isSelected();
 
+		// 空闲检查每次执行时读取配置，修改后无需通知索引
+		storage.suspendIdleIndex = form.suspendIdleIndexCheckBox.isSelected();
+		storage.indexIdleTimeoutMinutes = (int) form.idleTimeoutSpinner.getValue();
+
 		// 发布配置变更事件（包括需要重建缓存的变更和其他配置变更）
-		if (changeType != null) {
-			notifyConfigChanged(changeType);
-		}
+		// 监听器对每种变更只做最小范围的失效处理，因此同时发生的多种变更需要逐一通知
+		changeTypes.forEach(this::notifyConfigChanged);
 	}
 
 	/**
-	 * 检测配置变更，判断是否需要重建缓存，并返回具体的变更类型
+	 * 检测配置变更，判断是否需要重建缓存，并返回所有发生的变更类型
 	 * 
 	 * @param useIgnorePattern 新的忽略模式启用状态
 	 * @param ignorePatternText 新的忽略模式正则表达式
-	 * @return 配置变更类型，如果没有任何变更则返回null
+	 * @return 配置变更类型集合（按枚举顺序），如果没有任何变更则返回空集合
 	 */
-	private AwesomeConsoleConfigListener.ConfigChangeType detectConfigChanges(boolean useIgnorePattern, String ignorePatternText) {
-		// 1. 文件搜索功能变更（开启或关闭都需要重建，因为关闭时需要清理缓存）
+	private Set<AwesomeConsoleConfigListener.ConfigChangeType> detectConfigChanges(boolean useIgnorePattern, String ignorePatternText) {
+		Set<AwesomeConsoleConfigListener.ConfigChangeType> changeTypes = EnumSet.noneOf(AwesomeConsoleConfigListener.ConfigChangeType.class);
+
+		// 1. 文件搜索功能变更（开启时重建索引，关闭时释放索引）
 		if (storage.searchFiles != form.searchForFilesCheckBox.isSelected()) {
 			logger.debug(String.format("Config change detected: searchFiles %b -> %b", 
 					storage.searchFiles, form.searchForFilesCheckBox.isSelected()));
-			return AwesomeConsoleConfigListener.ConfigChangeType.SEARCH_FILES_CHANGED;
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.SEARCH_FILES_CHANGED);
 		}
 
-		// 2. 类搜索功能变更（开启或关闭都需要重建，因为关闭时需要清理 fileBaseCache）
+		// 2. 类搜索功能变更（只影响 fileBaseCache：开启时补建，关闭时丢弃）
 		if (storage.searchClasses != form.searchForClassesCheckBox.isSelected()) {
 			logger.debug(String.format("Config change detected: searchClasses %b -> %b", 
 					storage.searchClasses, form.searchForClassesCheckBox.isSelected()));
-			return AwesomeConsoleConfigListener.ConfigChangeType.SEARCH_CLASSES_CHANGED;
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.SEARCH_CLASSES_CHANGED);
 		}
 
 		// 3. 忽略模式变更（启用状态变化或正则表达式内容变化）
@@ -263,7 +278,7 @@ public class AwesomeConsoleConfig implements Configurable {
 			logger.debug(String.format("Config change detected: ignorePattern enabled=%b, pattern='%s' -> enabled=%b, pattern='%s'",
 					storage.useIgnorePattern, storage.getIgnorePatternText(),
 					useIgnorePattern, ignorePatternText));
-			return AwesomeConsoleConfigListener.ConfigChangeType.IGNORE_PATTERN_CHANGED;
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.IGNORE_PATTERN_CHANGED);
 		}
 
 		// 4. 文件类型过滤变更（启用状态变化或文件类型列表变化）
@@ -273,10 +288,18 @@ public class AwesomeConsoleConfig implements Configurable {
 			logger.debug(String.format("Config change detected: fileTypes enabled=%b, types='%s' -> enabled=%b, types='%s'",
 					storage.useFileTypes, storage.getFileTypes(),
 					form.fileTypesCheckBox.isSelected(), newFileTypes));
-			return AwesomeConsoleConfigListener.ConfigChangeType.FILE_TYPES_CHANGED;
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.FILE_TYPES_CHANGED);
+		}
+
+		// 5. 类文件扩展名变更（只影响 fileBaseCache），按解析后的集合比较，只改动空白、大小写或顺序时不重建
+		String newClassFileExtensions = form.classFileExtensionsTextField.getText().trim();
+		if (!storage.classFileExtensionSet.equals(AwesomeConsoleStorage.parseClassFileExtensions(newClassFileExtensions))) {
+			logger.debug(String.format("Config change detected: classFileExtensions '%s' -> '%s'",
+					storage.getClassFileExtensions(), newClassFileExtensions));
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.CLASS_FILE_EXTENSIONS_CHANGED);
 		}
 
-		// 5. 检测其他配置变更（不需要重建缓存）
+		// 6. 检测其他配置变更（不需要重建缓存）
 		if (storage.LIMIT_LINE_LENGTH != form.limitLineMatchingByCheckBox.isSelected() ||
 				!Objects.equals(form.maxLengthSpinner.getValue(), storage.LINE_MAX_LENGTH) ||
 				storage.SPLIT_ON_LIMIT != form.matchLinesLongerThanCheckBox.isSelected() ||
@@ -288,12 +311,14 @@ public class AwesomeConsoleConfig implements Configurable {
 				storage.resolveSymlink != form.resolveSymlinkCheckBox.isSelected() ||
 				storage.preserveAnsiColors != form.preserveAnsiColorsCheckBox.isSelected() ||
 				storage.showNotifications != form.showNotificationsCheckBox.isSelected() ||
-				storage.underlineOnly != form.underlineOnlyCheckBox.isSelected()) {
+				storage.underlineOnly != form.underlineOnlyCheckBox.isSelected() ||
+				storage.suspendIdleIndex != form.suspendIdleIndexCheckBox.isSelected() ||
+				!Objects.equals(form.idleTimeoutSpinner.getValue(), storage.indexIdleTimeoutMinutes)) {
 			logger.debug("Config change detected: other settings changed (no cache rebuild needed)");
-			return AwesomeConsoleConfigListener.ConfigChangeType.OTHER_CHANGED;
+			changeTypes.add(AwesomeConsoleConfigListener.ConfigChangeType.OTHER_CHANGED);
 		}
 
-		return null;
+		return changeTypes;
 	}
 
 	/**
@@ -30,6 +30,7 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
     public JCheckBox searchForURLsCheckBox;
     public JCheckBox searchForFilesCheckBox;
     public JCheckBox searchForClassesCheckBox;
+    public JTextField classFileExtensionsTextField;
 	public JCheckBox limitResultCheckBox;
 	public JSpinner limitResultSpinner;
 	public JCheckBox ignorePatternCheckBox;
@@ -49,6 +50,8 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
     public JProgressBar indexProgressBar;
     public JButton rebuildIndexButton;
     public JButton clearIndexButton;
+    public JCheckBox suspendIdleIndexCheckBox;
+    public JSpinner idleTimeoutSpinner;
 
     private Map<JCheckBox, Set<JComponent>> bindMap;
     private Map<JComponent, Set<JCheckBox>> bindMap2;
@@ -65,6 +68,7 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
         setupSplitLineIntoChunk();
         setupMatchURLs();
         setupMatchFiles();
+        setupClassFileExtensions();
         setupIgnorePattern();
         setupFixChooseTargetFileCheckBox();
         setupFileTypes();
@@ -73,6 +77,7 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
         setupShowNotifications();
         setupUnderlineOnly();
         setupIndexManagement();
+        setupSuspendIdleIndex();
     }
 
     private void setupRestore(@NotNull JComponent component, ActionListener listener) {
@@ -228,6 +233,16 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
 		setupCheckBox(searchForClassesCheckBox, enableClasses);
 	}
 
+    private void setupClassFileExtensions() {
+        classFileExtensionsTextField = initTextField(DEFAULT_CLASS_FILE_EXTENSIONS);
+        classFileExtensionsTextField.setToolTipText("Comma-separated list of file extensions whose base names are indexed for class matching. Leave empty to index all files. Example: java,kt,scala");
+        bindComponentToCheckBoxes(classFileExtensionsTextField, searchForFilesCheckBox, searchForClassesCheckBox);
+    }
+
+    public void initClassFileExtensions(String text) {
+        classFileExtensionsTextField.setText(text);
+    }
+
     public void initLimitResult(boolean enabled, int value) {
         setupCheckBox(limitResultCheckBox, enabled);
         limitResultSpinner.setValue(value);
@@ -253,6 +268,20 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
         setupCheckBox(ignoreStyleCheckBox, useIgnoreStyle);
     }
 
+    private void setupSuspendIdleIndex() {
+        suspendIdleIndexCheckBox = initCheckBox(DEFAULT_SUSPEND_IDLE_INDEX);
+        suspendIdleIndexCheckBox.setToolTipText("Release the file index of a project whose window is not focused and whose consoles have printed nothing for a while. The index is restored when the console prints again.");
+        idleTimeoutSpinner = initSpinner(DEFAULT_INDEX_IDLE_TIMEOUT_MINUTES);
+        idleTimeoutSpinner.setModel(new SpinnerNumberModel(DEFAULT_INDEX_IDLE_TIMEOUT_MINUTES, 1, Integer.MAX_VALUE, 10));
+        idleTimeoutSpinner.setToolTipText("Minutes without console output or window focus before the file index is suspended.");
+        bindCheckBoxAndComponents(suspendIdleIndexCheckBox, idleTimeoutSpinner);
+    }
+
+    public void initSuspendIdleIndex(boolean enabled, int timeoutMinutes) {
+        setupCheckBox(suspendIdleIndexCheckBox, enabled);
+        idleTimeoutSpinner.setValue(Math.max(1, timeoutMinutes));
+    }
+
     private void setupFixChooseTargetFileCheckBox() {
         fixChooseTargetFileCheckBox = initCheckBox(DEFAULT_FIX_CHOOSE_TARGET_FILE);
         fixChooseTargetFileCheckBox.setToolTipText("Uncheck if this fix is not compatible with your newer version of IDE.");
@@ -377,14 +406,32 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
      */
     private void updateIndexStatusUI(String projectName, AwesomeLinkFilter.IndexStatistics stats) {
         StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Index Status [%s]: %d files indexed (%d filenames, %d basenames)",
-                projectName, stats.getTotalFiles(), stats.getFileCacheSize(), stats.getFileBaseCacheSize()));
+        sb.append(String.format("Index Status [%s, %s]: %d files indexed (%d filenames, %d basenames)",
+                projectName, stats.getLifecycleState().getDisplayName(),
+                stats.getTotalFiles(), stats.getFileCacheSize(), stats.getFileBaseCacheSize()));
+
+        if (stats.getIndexPhase() != AwesomeLinkFilter.IndexPhase.COMPLETE) {
+            sb.append(String.format(" - Phase: %s", stats.getIndexPhase().getDisplayName()));
+        }
 
         if (stats.hasIgnoreStatistics()) {
             sb.append(String.format(" - Matched: %d, Ignored: %d",
                     stats.getMatchedFiles(), stats.getIgnoredFiles()));
         }
 
+        if (stats.getHotNameHitRate() > 0) {
+            sb.append(String.format(" - Hot-name hits: %.0f%%", stats.getHotNameHitRate() * 100));
+        }
+
+        if (stats.getFileNameSkipRate() > 0 || stats.getBareWordSkipRate() > 0) {
+            sb.append(String.format(" - Skipped tokens: %.0f%% file names, %.0f%% bare words",
+                    stats.getFileNameSkipRate() * 100, stats.getBareWordSkipRate() * 100));
+        }
+
+        if (stats.getLinkReuseRate() > 0) {
+            sb.append(String.format(" - Reused links: %.0f%%", stats.getLinkReuseRate() * 100));
+        }
+
         if (stats.getLastRebuildTime() > 0) {
             long elapsed = System.currentTimeMillis() - stats.getLastRebuildTime();
             sb.append(String.format(" - Last rebuild: %s ago", indexManagementService.formatDuration(elapsed)));
@@ -437,8 +484,9 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
                 int estimatedTotalFiles = indexManagementService.getEstimatedTotalFiles();
                 long rebuildStartTime = indexManagementService.getRebuildStartTime();
 
-                // 判断是否完成
-                boolean isComplete = (totalFiles > 0 && current >= totalFiles);
+                // 判断是否完成，重建期间旧索引仍然可查，需要以构建阶段为准
+                boolean isComplete = stats.getIndexPhase() == AwesomeLinkFilter.IndexPhase.COMPLETE
+                        && totalFiles > 0 && current >= totalFiles;
                 int progress = isComplete ? 100 : Math.min(95, (current * 95) / Math.max(estimatedTotalFiles, 1));
 
                 // 更新状态文本
@@ -446,7 +494,8 @@ public class AwesomeConsoleConfigForm implements AwesomeConsoleDefaults {
                 String statusText = isComplete
                         ? String.format("Rebuild completed [%s]: %d files indexed in %s",
                         project.getName(), current, indexManagementService.formatDuration(currentTime - rebuildStartTime))
-                        : String.format("Rebuilding index [%s]... %d files processed", project.getName(), current);
+                        : String.format("Rebuilding index [%s]... %s: %d files processed",
+                        project.getName(), stats.getIndexPhase().getDisplayName(), current);
 
                 if (ignoredFiles > 0) {
                     statusText += String.format(" (Matched: %d, Ignored: %d)", matchedFiles, ignoredFiles);
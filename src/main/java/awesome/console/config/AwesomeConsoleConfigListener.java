@@ -43,6 +43,9 @@ public interface AwesomeConsoleConfigListener {
 		/** 文件类型过滤变更（包括启用/禁用和文件类型列表变更） */
 		FILE_TYPES_CHANGED,
 		
+		/** 参与基础名索引的类文件扩展名变更（只影响基础名缓存） */
+		CLASS_FILE_EXTENSIONS_CHANGED,
+		
 		/** 其他配置变更（不需要重建缓存） */
 		OTHER_CHANGED
 	}
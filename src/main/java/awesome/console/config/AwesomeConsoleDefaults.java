@@ -73,4 +73,16 @@ public interface AwesomeConsoleDefaults {
 
     /** 默认是否仅保留超链接下划线效果（不改变颜色） */
     boolean DEFAULT_UNDERLINE_ONLY = false;
+
+    /** 默认VFS批量事件阈值，单批事件数超过该值时改为后台快照重建而非增量更新 */
+    int DEFAULT_VFS_BATCH_REBUILD_THRESHOLD = 2000;
+
+    /** 默认是否挂起空闲项目的索引，挂起后控制台再次输出时需要重新预热，默认关闭 */
+    boolean DEFAULT_SUSPEND_IDLE_INDEX = false;
+
+    /** 默认索引空闲超时（分钟），项目窗口未获得焦点且控制台无输出超过该时长时挂起索引 */
+    int DEFAULT_INDEX_IDLE_TIMEOUT_MINUTES = 60;
+
+    /** 默认参与基础名索引的文件扩展名（逗号分隔），只有这些文件可能对应完全限定类名 */
+    String DEFAULT_CLASS_FILE_EXTENSIONS = "java,kt,kts,scala,sc,groovy,gvy,gy,gsh,clj,cljc,cljs,class";
 }
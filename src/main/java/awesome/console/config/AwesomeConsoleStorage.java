@@ -7,11 +7,13 @@ import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import com.intellij.util.xmlb.annotations.Transient;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -72,6 +74,11 @@ public class AwesomeConsoleStorage implements PersistentStateComponent<AwesomeCo
     @Transient
     public volatile Set<String> fileTypeSet = Collections.emptySet();
 
+    /** 参与基础名索引的文件扩展名集合（不序列化），为空时索引所有文件 */
+    @NotNull
+    @Transient
+    public volatile Set<String> classFileExtensionSet = Collections.emptySet();
+
     /** 是否解析符号链接 */
     public volatile boolean resolveSymlink = DEFAULT_RESOLVE_SYMLINK;
 
@@ -90,14 +97,27 @@ public class AwesomeConsoleStorage implements PersistentStateComponent<AwesomeCo
     /** 是否仅保留超链接下划线效果（不改变颜色） */
     public volatile boolean underlineOnly = DEFAULT_UNDERLINE_ONLY;
 
+    /** VFS批量事件阈值，单批事件数超过该值时改为后台快照重建 */
+    public volatile int vfsBatchRebuildThreshold = DEFAULT_VFS_BATCH_REBUILD_THRESHOLD;
+
+    /** 是否挂起空闲项目的索引 */
+    public volatile boolean suspendIdleIndex = DEFAULT_SUSPEND_IDLE_INDEX;
+
+    /** 索引空闲超时（分钟），项目窗口未获得焦点且控制台无输出超过该时长时挂起索引，0 表示不挂起 */
+    public volatile int indexIdleTimeoutMinutes = DEFAULT_INDEX_IDLE_TIMEOUT_MINUTES;
+
     /** 文件类型列表（逗号分隔） */
     private volatile String fileTypes;
 
+    /** 参与基础名索引的文件扩展名列表（逗号分隔） */
+    private volatile String classFileExtensions;
+
     /**
-     * 构造函数，初始化默认文件类型
+     * 构造函数，初始化默认文件类型和类文件扩展名
      */
     public AwesomeConsoleStorage() {
         setFileTypes(DEFAULT_FILE_TYPES);
+        setClassFileExtensions(DEFAULT_CLASS_FILE_EXTENSIONS);
     }
 
     /**
@@ -204,4 +224,39 @@ public class AwesomeConsoleStorage implements PersistentStateComponent<AwesomeCo
         this.fileTypeSet = Set.of(fileTypes.toLowerCase().split(","));
         this.fileTypes = fileTypes;
     }
+
+    /**
+     * 获取参与基础名索引的文件扩展名列表
+     *
+     * @return 扩展名列表（逗号分隔）
+     */
+    public String getClassFileExtensions() {
+        return classFileExtensions;
+    }
+
+    /**
+     * 设置参与基础名索引的文件扩展名列表
+     * 会自动将字符串转换为小写并分割为Set，忽略空白项
+     *
+     * @param classFileExtensions 扩展名列表（逗号分隔）
+     */
+    public void setClassFileExtensions(String classFileExtensions) {
+        this.classFileExtensionSet = parseClassFileExtensions(classFileExtensions);
+        this.classFileExtensions = classFileExtensions;
+    }
+
+    /**
+     * 解析参与基础名索引的文件扩展名列表
+     * 转换为小写并去除每项两端的空白，忽略空白项
+     *
+     * @param classFileExtensions 扩展名列表（逗号分隔）
+     * @return 扩展名集合，列表为空时返回空集合（索引所有文件）
+     */
+    @NotNull
+    public static Set<String> parseClassFileExtensions(@NotNull String classFileExtensions) {
+        return Arrays.stream(classFileExtensions.toLowerCase().split(","))
+                .map(String::trim)
+                .filter(extension -> !extension.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 }
@@ -0,0 +1,82 @@
+package awesome.console.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 文件 ID 快照
+ * 将索引中文件的 VFS ID 写入磁盘，释放内存中的索引后可以从快照恢复，而不必重新遍历项目内容
+ * 文件格式：魔数、版本、数量、ID 列表，均为大端序 int
+ */
+public final class FileIdSnapshot {
+
+    private static final int MAGIC = 0x41434958; // "ACIX"
+
+    private static final int VERSION = 1;
+
+    private FileIdSnapshot() {
+    }
+
+    /**
+     * 写入快照，父目录不存在时自动创建
+     *
+     * @param path 快照文件路径
+     * @param ids 文件 ID
+     * @throws IOException 写入失败时
+     */
+    public static void write(@NotNull final Path path, @NotNull final int[] ids) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ids.length);
+            for (int id : ids) {
+                out.writeInt(id);
+            }
+        }
+    }
+
+    /**
+     * 读取快照
+     *
+     * @param path 快照文件路径
+     * @return 文件 ID，快照不存在或格式不符时返回null
+     * @throws IOException 读取失败时
+     */
+    @Nullable
+    public static int[] read(@NotNull final Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            final int[] ids = new int[in.readInt()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = in.readInt();
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * 删除快照，不存在时忽略
+     *
+     * @param path 快照文件路径
+     */
+    public static void delete(@NotNull final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 残留的快照会在下次挂起时覆盖
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package awesome.console.util;
+
+import static awesome.console.util.LazyInit.lazyInit;
+
+import com.intellij.execution.filters.HyperlinkInfo;
+import com.intellij.execution.filters.HyperlinkInfoBase;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.awt.RelativePoint;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 配置的文件类型（如图片）的超链接信息
+ * 这类文件需要通过多文件超链接在 IDE 中打开，以避免 IDE 和外部程序同时打开；
+ * 查找 VirtualFile 可能刷新 VFS 并访问磁盘，因此推迟到第一次导航时进行，而不是在过滤控制台输出时
+ */
+public class FileTypeHyperlinkInfo extends HyperlinkInfoBase {
+
+    /** 延迟创建的实际超链接信息 */
+    private final Supplier<HyperlinkInfo> delegate;
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目对象
+     * @param filePath 文件路径
+     * @param row 行号
+     * @param col 列号
+     * @param resolveSymlink 是否解析符号链接的供应器，找不到文件时回退为单文件超链接使用
+     */
+    public FileTypeHyperlinkInfo(
+            @NotNull Project project, @NotNull String filePath,
+            int row, int col, @NotNull BooleanSupplier resolveSymlink
+    ) {
+        delegate = lazyInit(() -> {
+            VirtualFile virtualFile = FileUtils.findFileByPath(filePath);
+            if (null != virtualFile) {
+                return HyperlinkUtils.buildMultipleFilesHyperlinkInfo(project, List.of(virtualFile), row, col, false);
+            }
+            return new SingleFileFileHyperlinkInfo(project, filePath, row, col, resolveSymlink);
+        });
+    }
+
+    /**
+     * 导航到文件，首次调用时查找文件
+     *
+     * @param project 项目对象
+     * @param hyperlinkLocationPoint 超链接位置点
+     */
+    @Override
+    public void navigate(@NotNull Project project, @Nullable RelativePoint hyperlinkLocationPoint) {
+        HyperlinkInfo info = delegate.get();
+        if (info instanceof HyperlinkInfoBase infoBase) {
+            infoBase.navigate(project, hyperlinkLocationPoint);
+        } else {
+            info.navigate(project);
+        }
+    }
+}
@@ -14,9 +14,10 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -222,6 +223,7 @@ public class FileUtils {
 
     /**
      * 解析符号链接，获取真实路径
+     * 父目录的真实路径通过 {@link RealPathCache} 缓存
      * 
      * @param filePath 文件路径
      * @param resolveSymlink 是否解析符号链接
@@ -231,7 +233,10 @@ public class FileUtils {
         if (resolveSymlink) {
         try {
             // 避免由`IDEA Resolve Symlinks`插件引起的DisposalException: Editor is already disposed
-            return Paths.get(filePath).toRealPath().toString();
+            final Path realPath = RealPathCache.getInstance().resolve(Paths.get(filePath));
+            if (null != realPath) {
+                return realPath.toString();
+            }
         } catch (Exception ignored) {
         }
         }
@@ -240,6 +245,7 @@ public class FileUtils {
 
     /**
      * 批量解析符号链接，获取真实的VirtualFile列表
+     * 父目录的真实路径通过 {@link RealPathCache} 缓存，真实路径与原路径相同的文件直接复用，不再查找 VFS
      * 
      * @param files VirtualFile列表
      * @param resolveSymlink 是否解析符号链接
@@ -248,12 +254,20 @@ public class FileUtils {
     public static List<VirtualFile> resolveSymlinks(@NotNull List<VirtualFile> files, final boolean resolveSymlink) {
         if (resolveSymlink) {
             try {
-                return files.parallelStream()
-                            .map(it -> resolveSymlink(it.getPath(), true))
-                            .distinct()
-                            .map(it -> VfsUtil.findFile(Paths.get(it), false))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
+                final RealPathCache cache = RealPathCache.getInstance();
+                final Set<VirtualFile> resolved = new LinkedHashSet<>();
+                for (VirtualFile file : files) {
+                    final Path realPath = cache.resolve(file);
+                    if (null == realPath || realPath.equals(Paths.get(file.getPath()))) {
+                        resolved.add(file);
+                        continue;
+                    }
+                    final VirtualFile realFile = VfsUtil.findFile(realPath, false);
+                    if (null != realFile) {
+                        resolved.add(realFile);
+                    }
+                }
+                return new ArrayList<>(resolved);
             } catch (Exception ignored) {
             }
         }
@@ -0,0 +1,227 @@
+package awesome.console.util;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 前缀压缩的有序名称字典
+ * 名称按 {@link String#compareTo} 排序后每 {@value #BLOCK_SIZE} 个分为一块，块内除首项外只存储与前一项不同的 UTF-8 后缀，
+ * 全部数据保存在堆外的 direct ByteBuffer 中；查找时先对块首项二分，再在块内顺序解码
+ * <p>
+ * 每个名称对应一个从 0 开始的序号（即排序后的位置），调用方用序号索引自己的倒排表
+ * 构建后不可修改，可以在多个线程中并发读取
+ */
+public final class FrontCodedNameDictionary {
+
+    /** 每块的名称数 */
+    private static final int BLOCK_SIZE = 16;
+
+    /** 空字典 */
+    public static final FrontCodedNameDictionary EMPTY =
+            new FrontCodedNameDictionary(ByteBuffer.allocateDirect(0), IntBuffer.allocate(0), 0);
+
+    /** 前缀压缩后的名称数据 */
+    private final ByteBuffer data;
+
+    /** 每块首项在 data 中的偏移 */
+    private final IntBuffer blockOffsets;
+
+    /** 名称数量 */
+    private final int size;
+
+    private FrontCodedNameDictionary(ByteBuffer data, IntBuffer blockOffsets, int size) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+    }
+
+    /**
+     * 构建字典
+     *
+     * @param sortedNames 按 {@link String#compareTo} 升序排列且不重复的名称
+     * @return 字典
+     * @throws IllegalArgumentException 名称未排序或有重复时
+     */
+    @NotNull
+    public static FrontCodedNameDictionary build(@NotNull final List<String> sortedNames) {
+        if (sortedNames.isEmpty()) {
+            return EMPTY;
+        }
+        final int blockCount = (sortedNames.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final IntBuffer offsets = ByteBuffer.allocateDirect(blockCount * Integer.BYTES).asIntBuffer();
+        byte[] buffer = new byte[Math.max(64, sortedNames.size() * 8)];
+        int position = 0;
+        byte[] previous = null;
+        String previousName = null;
+        for (int i = 0; i < sortedNames.size(); i++) {
+            final String name = sortedNames.get(i);
+            if (previousName != null && previousName.compareTo(name) >= 0) {
+                throw new IllegalArgumentException("names must be sorted and unique: " + previousName + ", " + name);
+            }
+            final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            int shared = 0;
+            if (i % BLOCK_SIZE == 0) {
+                offsets.put(i / BLOCK_SIZE, position);
+            } else {
+                final int limit = Math.min(previous.length, bytes.length);
+                while (shared < limit && previous[shared] == bytes[shared]) {
+                    shared++;
+                }
+            }
+            final int required = position + 10 + bytes.length - shared;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+            }
+            position = writeVarInt(buffer, position, shared);
+            position = writeVarInt(buffer, position, bytes.length - shared);
+            System.arraycopy(bytes, shared, buffer, position, bytes.length - shared);
+            position += bytes.length - shared;
+            previous = bytes;
+            previousName = name;
+        }
+        final ByteBuffer data = ByteBuffer.allocateDirect(position);
+        data.put(buffer, 0, position);
+        return new FrontCodedNameDictionary(data, offsets, sortedNames.size());
+    }
+
+    /**
+     * 查找名称的序号
+     *
+     * @param name 名称
+     * @return 序号，不存在时返回 -1
+     */
+    public int indexOf(@NotNull final String name) {
+        if (size == 0) {
+            return -1;
+        }
+        // 找到最后一个首项不大于 name 的块
+        int low = 0;
+        int high = blockOffsets.limit() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (decodeHead(mid).compareTo(name) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final Cursor cursor = new Cursor(low);
+        final int count = Math.min(BLOCK_SIZE, size - low * BLOCK_SIZE);
+        for (int i = 0; i < count; i++) {
+            final int comparison = cursor.next().compareTo(name);
+            if (comparison == 0) {
+                return low * BLOCK_SIZE + i;
+            }
+            if (comparison > 0) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按序号获取名称
+     *
+     * @param ordinal 序号
+     * @return 名称
+     * @throws IndexOutOfBoundsException 序号越界时
+     */
+    @NotNull
+    public String get(final int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("ordinal " + ordinal + ", size " + size);
+        }
+        final Cursor cursor = new Cursor(ordinal / BLOCK_SIZE);
+        String name = cursor.next();
+        for (int i = 0; i < ordinal % BLOCK_SIZE; i++) {
+            name = cursor.next();
+        }
+        return name;
+    }
+
+    /**
+     * 按序号顺序遍历所有名称，每块只解码一次
+     *
+     * @param action 接收名称
+     */
+    public void forEach(@NotNull final Consumer<String> action) {
+        for (int block = 0; block * BLOCK_SIZE < size; block++) {
+            final Cursor cursor = new Cursor(block);
+            final int count = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+            for (int i = 0; i < count; i++) {
+                action.accept(cursor.next());
+            }
+        }
+    }
+
+    /**
+     * 获取名称数量
+     *
+     * @return 名称数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取堆外占用的字节数
+     *
+     * @return 字节数
+     */
+    public long sizeInBytes() {
+        return data.capacity() + (long) blockOffsets.capacity() * Integer.BYTES;
+    }
+
+    private String decodeHead(int block) {
+        return new Cursor(block).next();
+    }
+
+    private static int writeVarInt(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /** 块内的顺序解码器 */
+    private final class Cursor {
+        private int position;
+        private byte[] current = new byte[32];
+
+        Cursor(int block) {
+            this.position = blockOffsets.get(block);
+        }
+
+        String next() {
+            final int shared = readVarInt();
+            final int suffixLength = readVarInt();
+            final int length = shared + suffixLength;
+            if (length > current.length) {
+                current = Arrays.copyOf(current, Math.max(length, current.length * 2));
+            }
+            // 使用绝对位置读取，不修改共享 ByteBuffer 的状态，保证并发读取安全
+            data.get(position, current, shared, suffixLength);
+            position += suffixLength;
+            return new String(current, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
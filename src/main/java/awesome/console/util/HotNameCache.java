@@ -0,0 +1,265 @@
+package awesome.console.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 频率感知的小容量缓存（W-TinyLFU）
+ * 新条目先进入约占 1% 容量的窗口 LRU；被挤出窗口的条目只有在估计访问频率高于主区淘汰候选时才被接纳，
+ * 主区分为试用段和保护段（SLRU），试用段中再次命中的条目晋升到保护段。
+ * 访问频率由 4 行的 Count-Min Sketch 估计，计数达到采样上限后整体减半，使旧的热点逐渐冷却
+ * <p>
+ * 缓存内容与调用方的代数绑定：以新的代数访问时缓存整体清空，以旧的代数查找时视为未命中、写入时忽略，
+ * 读到旧代数的并发查找不会清空已经前进到新代数的内容
+ * 所有方法都是同步的，单次操作只涉及少量哈希表操作
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+public final class HotNameCache<K, V> {
+
+    /** 计数器上限（4 位） */
+    private static final int MAX_FREQUENCY = 15;
+
+    /** 每行的哈希种子 */
+    private static final int[] SEEDS = {0x97CB3127, 0x7ED55D16, 0xC761C23C, 0x165667B1};
+
+    /** 窗口段 */
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** 主区试用段 */
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** 主区保护段 */
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int windowCapacity;
+
+    private final int mainCapacity;
+
+    private final int protectedCapacity;
+
+    /** Count-Min Sketch 计数器，4 行连续存放 */
+    private final byte[] sketch;
+
+    /** 每行的下标掩码 */
+    private final int sketchMask;
+
+    /** 采样上限，达到后计数整体减半 */
+    private final int sampleLimit;
+
+    /** 自上次减半以来的采样数 */
+    private int samples;
+
+    /** 当前内容对应的代数 */
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 最大条目数
+     */
+    public HotNameCache(final int capacity) {
+        final int total = Math.max(2, capacity);
+        this.windowCapacity = Math.max(1, total / 100);
+        this.mainCapacity = total - windowCapacity;
+        this.protectedCapacity = Math.max(1, mainCapacity * 4 / 5);
+        final int width = Integer.highestOneBit(Math.max(16, total * 2) - 1) << 1;
+        this.sketch = new byte[width * 4];
+        this.sketchMask = width - 1;
+        this.sampleLimit = total * 10;
+    }
+
+    /**
+     * 查找缓存的值
+     *
+     * @param key 键
+     * @param generation 调用方的代数，早于缓存当前代数时视为未命中，不改变缓存内容和访问频率
+     * @return 缓存的值，未命中时返回null
+     */
+    @Nullable
+    public synchronized V get(@NotNull final K key, final long generation) {
+        if (generation < this.generation) {
+            misses++;
+            return null;
+        }
+        if (generation > this.generation) {
+            clear();
+            this.generation = generation;
+        }
+        recordAccess(key);
+        V value = window.get(key);
+        if (null == value) {
+            value = protectedSegment.get(key);
+        }
+        if (null == value) {
+            value = probation.remove(key);
+            if (null != value) {
+                promote(key, value);
+            }
+        }
+        if (null == value) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存，一般在 {@link #get} 未命中并计算出值后调用
+     *
+     * @param key 键
+     * @param value 值
+     * @param generation 计算值时的代数，早于缓存当前代数时忽略
+     */
+    public synchronized void put(@NotNull final K key, @NotNull final V value, final long generation) {
+        if (generation < this.generation) {
+            return;
+        }
+        if (generation > this.generation) {
+            clear();
+            this.generation = generation;
+        }
+        if (window.containsKey(key)) {
+            window.put(key, value);
+            return;
+        }
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+            return;
+        }
+        if (probation.containsKey(key)) {
+            probation.put(key, value);
+            return;
+        }
+        window.put(key, value);
+        if (window.size() > windowCapacity) {
+            final Map.Entry<K, V> candidate = removeEldest(window);
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /** 清空缓存内容，保留频率统计 */
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    /**
+     * 获取条目数
+     *
+     * @return 条目数
+     */
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，没有访问时返回 0
+     */
+    public synchronized double getHitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /** 试用段命中的条目晋升到保护段，保护段溢出时最久未用的条目降回试用段 */
+    private void promote(K key, V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > protectedCapacity) {
+            final Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    /** 窗口挤出的候选与主区的淘汰候选比较频率，频率更高者留下 */
+    private void admit(K candidate, V value) {
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate, value);
+            return;
+        }
+        final LinkedHashMap<K, V> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        final K victim = victimSegment.keySet().iterator().next();
+        if (frequency(candidate) > frequency(victim)) {
+            victimSegment.remove(victim);
+            probation.put(candidate, value);
+        }
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+        final Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+        final Map.Entry<K, V> eldest = iterator.next();
+        final Map.Entry<K, V> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+
+    private void recordAccess(K key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            final int index = indexOf(hash, row);
+            if (sketch[index] < MAX_FREQUENCY) {
+                sketch[index]++;
+                added = true;
+            }
+        }
+        if (added && ++samples >= sampleLimit) {
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] = (byte) (sketch[i] >>> 1);
+            }
+            samples /= 2;
+        }
+    }
+
+    private int frequency(K key) {
+        final int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < 4; row++) {
+            frequency = Math.min(frequency, sketch[indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int indexOf(int hash, int row) {
+        // 每行使用不同的种子重新混合哈希
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return row * (sketchMask + 1) + (h & sketchMask);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xED5AD4BB;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
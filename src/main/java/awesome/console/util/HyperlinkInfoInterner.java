@@ -0,0 +1,166 @@
+package awesome.console.util;
+
+import com.intellij.execution.filters.HyperlinkInfo;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 超链接信息的驻留缓存
+ * 控制台会在整个缓冲区生命周期内持有每个超链接的 HyperlinkInfo，同一位置的链接反复出现（如重复的堆栈）时共享同一个实例
+ * 每个控制台一个实例，按最近使用淘汰，容量满后最久未使用的条目被移除；配置变化后调用方传入新的代数，缓存整体失效
+ * 命中和未命中计数可以由多个实例共享，用于统计整个项目的链接复用率
+ * <p>
+ * 缓存的 HyperlinkInfo 在创建后不再修改，可以安全地被多行共享
+ */
+public final class HyperlinkInfoInterner {
+
+    /** 默认容量 */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** 容量 */
+    private final int capacity;
+
+    /** 键到超链接信息的映射，按访问顺序排列 */
+    private final Map<Object, HyperlinkInfo> infos;
+
+    /** 当前缓存内容对应的代数 */
+    private int generation;
+
+    /** 命中次数 */
+    private final LongAdder hits;
+
+    /** 未命中次数 */
+    private final LongAdder misses;
+
+    public HyperlinkInfoInterner() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 最大条目数，为 0 时不缓存
+     */
+    public HyperlinkInfoInterner(final int capacity) {
+        this(capacity, new LongAdder(), new LongAdder());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 最大条目数，为 0 时不缓存
+     * @param hits 命中计数，可以与其他实例共享
+     * @param misses 未命中计数，可以与其他实例共享
+     */
+    public HyperlinkInfoInterner(final int capacity, @NotNull final LongAdder hits, @NotNull final LongAdder misses) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.infos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, HyperlinkInfo> eldest) {
+                return size() > HyperlinkInfoInterner.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 文件链接的键
+     *
+     * @param path 文件路径
+     * @param row 行号
+     * @param col 列号
+     * @return 键
+     */
+    @NotNull
+    public static Object fileKey(@NotNull final String path, final int row, final int col) {
+        return new FileKey(path, row, col);
+    }
+
+    /**
+     * 多文件链接的键
+     *
+     * @param files 候选文件
+     * @param row 行号
+     * @param col 列号
+     * @return 键
+     */
+    @NotNull
+    public static Object filesKey(@NotNull final List<VirtualFile> files, final int row, final int col) {
+        return new FilesKey(List.copyOf(files), row, col);
+    }
+
+    /**
+     * URL 链接的键
+     *
+     * @param url URL
+     * @return 键
+     */
+    @NotNull
+    public static Object urlKey(@NotNull final String url) {
+        return new UrlKey(url);
+    }
+
+    /**
+     * 获取键对应的共享超链接信息，不存在时创建
+     *
+     * @param key 键
+     * @param generation 调用方的配置代数，与缓存的代数不同时先清空缓存
+     * @param factory 创建超链接信息
+     * @return 超链接信息
+     */
+    @NotNull
+    public HyperlinkInfo intern(@NotNull final Object key, final int generation, @NotNull final Supplier<HyperlinkInfo> factory) {
+        if (capacity == 0) {
+            misses.increment();
+            return factory.get();
+        }
+        synchronized (this) {
+            if (this.generation != generation) {
+                infos.clear();
+                this.generation = generation;
+            }
+            HyperlinkInfo info = infos.get(key);
+            if (info != null) {
+                hits.increment();
+                return info;
+            }
+            misses.increment();
+            info = factory.get();
+            infos.put(key, info);
+            return info;
+        }
+    }
+
+    /**
+     * 获取命中次数，计数共享时包括其他实例的命中
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取未命中次数，计数共享时包括其他实例的未命中
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private record FileKey(String path, int row, int col) {
+    }
+
+    private record FilesKey(List<VirtualFile> files, int row, int col) {
+    }
+
+    private record UrlKey(String url) {
+    }
+}
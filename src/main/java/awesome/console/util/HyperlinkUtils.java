@@ -65,12 +65,10 @@ public class HyperlinkUtils {
     public static HyperlinkInfo buildFileHyperlinkInfo(@NotNull Project project, @NotNull String filePath, int row, int col) {
         try {
             // 修复IDE和外部程序同时打开某些非文本文件的问题
+            // 文件查找推迟到导航时，过滤时不访问 VFS
             final String ext = PathUtil.getFileExtension(filePath);
             if (null != ext && config.useFileTypes && config.fileTypeSet.contains(ext.toLowerCase())) {
-                VirtualFile virtualFile = FileUtils.findFileByPath(filePath);
-                if (null != virtualFile) {
-                    return buildMultipleFilesHyperlinkInfo(project, List.of(virtualFile), row, col, false);
-                }
+                return new FileTypeHyperlinkInfo(project, filePath, row, col, () -> config.resolveSymlink);
             }
         } catch (Exception ignored) {
         }
@@ -0,0 +1,190 @@
+package awesome.console.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 忽略模式的目录级规则
+ * 从忽略正则表达式的顶层分支中提取字面量目录前缀，用于在索引阶段整棵跳过必然被忽略的子树
+ * <p>
+ * 只识别以下形式的顶层分支（可带前置的内联标志如 {@code (?i)}，可带结尾的 {@code .*} 或 {@code .+}）：
+ * <ul>
+ *   <li>{@code ^LIT}：相对路径以 LIT 开头</li>
+ *   <li>{@code (^|/)LIT} 或 {@code (?:^|/)LIT}：LIT 出现在相对路径开头或任意 / 之后</li>
+ *   <li>{@code LIT}：相对路径中任意位置包含 LIT</li>
+ * </ul>
+ * 其余分支一律不参与剪枝，对应目录下的文件仍逐个检查，因此剪枝结果总是逐文件检查结果的子集
+ */
+public final class IgnoreDirectoryRules {
+
+    /** 不做任何剪枝的规则 */
+    public static final IgnoreDirectoryRules NONE = new IgnoreDirectoryRules(null, List.of(), List.of(), List.of());
+
+    /** 生成该规则的忽略模式 */
+    private final Pattern pattern;
+
+    /** ^LIT 形式的字面量 */
+    private final List<String> rootPrefixes;
+
+    /** (^|/)LIT 形式的字面量 */
+    private final List<String> segmentPrefixes;
+
+    /** 不带锚点的 LIT 形式的字面量 */
+    private final List<String> substrings;
+
+    private IgnoreDirectoryRules(Pattern pattern, List<String> rootPrefixes,
+                                 List<String> segmentPrefixes, List<String> substrings) {
+        this.pattern = pattern;
+        this.rootPrefixes = rootPrefixes;
+        this.segmentPrefixes = segmentPrefixes;
+        this.substrings = substrings;
+    }
+
+    /**
+     * 分析忽略模式，提取可以安全用于目录剪枝的字面量
+     *
+     * @param pattern 忽略模式
+     * @return 目录级规则，无可用分支时返回不剪枝的规则
+     */
+    @NotNull
+    public static IgnoreDirectoryRules analyze(@NotNull final Pattern pattern) {
+        if ((pattern.flags() & Pattern.LITERAL) != 0) {
+            return new IgnoreDirectoryRules(pattern, List.of(), List.of(), List.of());
+        }
+        final List<String> rootPrefixes = new ArrayList<>();
+        final List<String> segmentPrefixes = new ArrayList<>();
+        final List<String> substrings = new ArrayList<>();
+        for (String alternative : splitTopLevelAlternatives(pattern.pattern())) {
+            String rest = stripInlineFlags(alternative);
+            List<String> target = substrings;
+            if (rest.startsWith("^")) {
+                rest = rest.substring(1);
+                target = rootPrefixes;
+            } else if (rest.startsWith("(^|/)") || rest.startsWith("(?:^|/)")) {
+                rest = rest.substring(rest.indexOf(')') + 1);
+                target = segmentPrefixes;
+            }
+            if (rest.endsWith(".*") || rest.endsWith(".+")) {
+                rest = rest.substring(0, rest.length() - 2);
+            }
+            final String literal = parseLiteral(rest);
+            if (literal != null && !literal.isEmpty()) {
+                target.add(literal);
+            }
+        }
+        return new IgnoreDirectoryRules(pattern, List.copyOf(rootPrefixes), List.copyOf(segmentPrefixes), List.copyOf(substrings));
+    }
+
+    /**
+     * 获取生成该规则的忽略模式
+     *
+     * @return 忽略模式，{@link #NONE} 返回null
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 是否没有任何可用于剪枝的分支
+     *
+     * @return 没有可用分支时返回true
+     */
+    public boolean isEmpty() {
+        return rootPrefixes.isEmpty() && segmentPrefixes.isEmpty() && substrings.isEmpty();
+    }
+
+    /**
+     * 判断目录下的所有文件是否必然被忽略
+     *
+     * @param relativeDirPath 目录相对于项目根目录的路径，使用 / 分隔且不以 / 结尾
+     * @return 整棵子树都会被忽略时返回true
+     */
+    public boolean coversDirectory(@NotNull final String relativeDirPath) {
+        if (relativeDirPath.isEmpty()) {
+            return false;
+        }
+        // 目录下任意文件的相对路径都以 "目录/" 开头，对它成立的匹配对子树中的所有文件都成立
+        final String prefix = relativeDirPath + "/";
+        for (String literal : rootPrefixes) {
+            if (prefix.startsWith(literal)) return true;
+        }
+        for (String literal : segmentPrefixes) {
+            if (prefix.startsWith(literal) || prefix.contains("/" + literal)) return true;
+        }
+        for (String literal : substrings) {
+            if (prefix.contains(literal)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 按顶层的 | 拆分正则表达式，跳过转义字符、字符类和分组内部的 |
+     */
+    private static List<String> splitTopLevelAlternatives(String regex) {
+        final List<String> alternatives = new ArrayList<>();
+        int depth = 0;
+        int classDepth = 0;
+        int start = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (classDepth > 0) {
+                if (c == '[') classDepth++;
+                else if (c == ']') classDepth--;
+            } else if (c == '[') {
+                classDepth++;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    /**
+     * 去掉分支开头的内联标志组（如 (?i)），这些标志只会放宽字面量的匹配范围
+     */
+    private static String stripInlineFlags(String alternative) {
+        String rest = alternative;
+        while (rest.startsWith("(?")) {
+            final int end = rest.indexOf(')');
+            if (end < 0 || !rest.substring(2, end).matches("[a-zA-Z-]+")) {
+                break;
+            }
+            rest = rest.substring(end + 1);
+        }
+        return rest;
+    }
+
+    /**
+     * 将正则片段解析为字面量
+     * 未转义的 . 按字面 . 处理（它能匹配 .，因此结果只会更保守）
+     *
+     * @return 字面量，片段包含其他元字符时返回null
+     */
+    private static String parseLiteral(String fragment) {
+        final StringBuilder literal = new StringBuilder(fragment.length());
+        for (int i = 0; i < fragment.length(); i++) {
+            final char c = fragment.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= fragment.length() || Character.isLetterOrDigit(fragment.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(fragment.charAt(++i));
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '/' || c == '.') {
+                literal.append(c);
+            } else {
+                return null;
+            }
+        }
+        return literal.toString();
+    }
+}
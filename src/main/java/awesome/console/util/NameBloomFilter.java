@@ -0,0 +1,98 @@
+package awesome.console.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 名称的布隆过滤器
+ * 用于快速判断一个名称是否可能在集合中：返回false时一定不在，返回true时可能存在（有一定误判率）
+ * 位数组大小取 2 的幂，k 个下标由两个哈希值组合生成（Kirsch-Mitzenmacher），查询不分配对象
+ * <p>
+ * 写入不是线程安全的，同一时刻只能有一个写入者；发布后可以由单个线程继续写入：
+ * 位只会由 0 变为 1，并发的查询只可能暂时看不到正在写入的名称，不会丢失已写入的名称
+ */
+public final class NameBloomFilter {
+
+    /** 位数组 */
+    private final long[] bits;
+
+    /** 位下标掩码 */
+    private final int bitMask;
+
+    /** 每个名称设置的位数 */
+    private final int hashCount;
+
+    /**
+     * 构造函数
+     *
+     * @param expectedInsertions 预计写入的名称数量
+     * @param falsePositiveRate 期望的误判率，如 0.01
+     */
+    public NameBloomFilter(final int expectedInsertions, final double falsePositiveRate) {
+        final int insertions = Math.max(1, expectedInsertions);
+        final double ln2 = Math.log(2);
+        // 最优位数 m = -n * ln(p) / (ln2)^2，向上取 2 的幂，最多 2^30 位
+        final long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int bitCount = (int) Math.min(1L << 30, Math.max(64L, Long.highestOneBit(optimalBits - 1) << 1));
+        this.bits = new long[bitCount >>> 6];
+        this.bitMask = bitCount - 1;
+        // 最优哈希个数 k = m / n * ln2
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round((double) bitCount / insertions * ln2)));
+    }
+
+    /**
+     * 写入名称
+     *
+     * @param name 名称
+     */
+    public void add(@NotNull final String name) {
+        final int hash1 = spread(name.hashCode());
+        final int hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            final int index = (hash1 + i * hash2) & bitMask;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * 判断名称是否可能存在
+     *
+     * @param name 名称
+     * @return 可能存在时返回true，一定不存在时返回false
+     */
+    public boolean mightContain(@NotNull final String name) {
+        final int hash1 = spread(name.hashCode());
+        final int hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            final int index = (hash1 + i * hash2) & bitMask;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取位数组大小
+     *
+     * @return 位数
+     */
+    public int bitSize() {
+        return bitMask + 1;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /** 第二个哈希值取奇数，保证 k 个下标在 2 的幂大小的位数组上互不相同 */
+    private static int secondHash(int hash1) {
+        int hash = hash1 * 0x9E3779B9;
+        hash ^= hash >>> 15;
+        return hash | 1;
+    }
+}
@@ -0,0 +1,166 @@
+package awesome.console.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 按父目录路径索引的集合
+ * 与父目录索引相同，key 为加入时的父目录路径（按路径排序），value 为按名称索引的元素；
+ * 按路径移除子树时只访问前缀区间内的目录，耗时与子树大小成正比，不遍历整个集合。
+ * 元素按加入时的路径定位，被删除、移动或重命名的目录按旧路径移除
+ * <p>
+ * 非线程安全，由调用方的锁保护
+ *
+ * @param <T> 元素的类型
+ */
+public final class PathIndexedSet<T> implements Iterable<T> {
+
+    /** 获取元素的路径，使用 / 分隔 */
+    private final Function<T, String> pathOf;
+
+    /** key 为父目录路径，value 为该目录下直接包含的元素（key 为名称） */
+    private final NavigableMap<String, Map<String, T>> entries = new TreeMap<>();
+
+    private int size;
+
+    /**
+     * 构造函数
+     *
+     * @param pathOf 获取元素的路径，使用 / 分隔
+     */
+    public PathIndexedSet(@NotNull final Function<T, String> pathOf) {
+        this.pathOf = pathOf;
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param pathOf 获取元素的路径，使用 / 分隔
+     * @param elements 初始元素
+     */
+    public PathIndexedSet(@NotNull final Function<T, String> pathOf, @NotNull final Collection<? extends T> elements) {
+        this(pathOf);
+        addAll(elements);
+    }
+
+    /**
+     * 加入元素，同一路径上已有的元素被替换
+     *
+     * @param element 元素
+     */
+    public void add(@NotNull final T element) {
+        final String path = pathOf.apply(element);
+        final int slash = path.lastIndexOf('/');
+        final T previous = entries.computeIfAbsent(path.substring(0, Math.max(slash, 0)), (key) -> new LinkedHashMap<>())
+                .put(path.substring(slash + 1), element);
+        if (null == previous) {
+            size++;
+        }
+    }
+
+    public void addAll(@NotNull final Collection<? extends T> elements) {
+        for (T element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * 移除加入时位于指定路径的元素
+     *
+     * @param path 元素加入时的路径
+     * @param element 元素，只有该路径上是这个元素时才移除
+     * @return 移除成功时返回true
+     */
+    public boolean remove(@NotNull final String path, @NotNull final T element) {
+        final int slash = path.lastIndexOf('/');
+        final String parent = path.substring(0, Math.max(slash, 0));
+        final Map<String, T> siblings = entries.get(parent);
+        if (null == siblings || !siblings.remove(path.substring(slash + 1), element)) {
+            return false;
+        }
+        if (siblings.isEmpty()) {
+            entries.remove(parent);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * 移除路径本身及其下的所有元素
+     *
+     * @param path 使用 / 分隔的路径，不以 / 结尾
+     * @return 移除的元素数
+     */
+    public int removeSubtree(@NotNull final String path) {
+        int removed = 0;
+        final int slash = path.lastIndexOf('/');
+        final String parent = path.substring(0, Math.max(slash, 0));
+        final Map<String, T> siblings = entries.get(parent);
+        if (null != siblings && null != siblings.remove(path.substring(slash + 1))) {
+            removed++;
+            if (siblings.isEmpty()) {
+                entries.remove(parent);
+            }
+        }
+        final Map<String, T> children = entries.remove(path);
+        if (null != children) {
+            removed += children.size();
+        }
+        // '0' 紧跟在 '/' 之后，[path/, path0) 恰好覆盖所有子孙目录
+        final NavigableMap<String, Map<String, T>> subtree = entries.subMap(path + '/', true, path + '0', false);
+        for (Map<String, T> descendants : subtree.values()) {
+            removed += descendants.size();
+        }
+        subtree.clear();
+        size -= removed;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * 按父目录路径的顺序遍历元素
+     */
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return stream().iterator();
+    }
+
+    @NotNull
+    public Stream<T> stream() {
+        return entries.values().stream().flatMap(siblings -> siblings.values().stream());
+    }
+
+    /**
+     * 复制所有元素
+     *
+     * @return 按父目录路径顺序排列的新列表
+     */
+    @NotNull
+    public List<T> toList() {
+        final List<T> elements = new ArrayList<>(size);
+        entries.values().forEach(siblings -> elements.addAll(siblings.values()));
+        return elements;
+    }
+}
@@ -0,0 +1,202 @@
+package awesome.console.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 路径标准化工具
+ * 在一个字符缓冲区上单遍完成：分隔符统一为 /、去除 NUL、展开开头的 ~、拼接基础路径、折叠重复分隔符、处理 . 和 ..，
+ * 与 {@code Paths.get(basePath, path).normalize()} 的结果一致（分隔符始终为 /），但不抛出异常，
+ * 无法处理的输入通过 {@link Reason} 返回原因
+ */
+public final class PathNormalizer {
+
+    /** 标准化结果的原因码 */
+    public enum Reason {
+        /** 标准化成功 */
+        OK,
+        /** 标准化后为空路径 */
+        EMPTY,
+        /** UNC 路径（Windows 网络路径），为避免网络访问不处理 */
+        UNC_PATH,
+        /** 包含 Windows 文件名中不允许的字符 */
+        ILLEGAL_CHARACTER
+    }
+
+    /**
+     * 标准化结果
+     *
+     * @param path 标准化后的路径，失败时为null
+     * @param reason 原因码
+     */
+    public record Result(@Nullable String path, @NotNull Reason reason) {
+        public boolean isOk() {
+            return reason == Reason.OK;
+        }
+    }
+
+    private static final Result EMPTY = new Result(null, Reason.EMPTY);
+
+    private static final Result UNC_PATH = new Result(null, Reason.UNC_PATH);
+
+    private static final Result ILLEGAL_CHARACTER = new Result(null, Reason.ILLEGAL_CHARACTER);
+
+    private PathNormalizer() {
+    }
+
+    /**
+     * 标准化路径
+     *
+     * @param basePath 基础路径，path 为相对路径时拼接在前面；为null或空时不拼接
+     * @param path 路径
+     * @return 标准化结果
+     */
+    @NotNull
+    public static Result normalize(@Nullable String basePath, @NotNull String path) {
+        return normalize(basePath, path, SystemUtils.isWindows());
+    }
+
+    /**
+     * 标准化路径
+     *
+     * @param basePath 基础路径，path 为相对路径时拼接在前面；为null或空时不拼接
+     * @param path 路径
+     * @param windows 是否按 Windows 规则检查 UNC 路径和非法字符
+     * @return 标准化结果
+     */
+    @NotNull
+    public static Result normalize(@Nullable String basePath, @NotNull String path, final boolean windows) {
+        if (path.indexOf('\0') >= 0) {
+            // 先去除 NUL 再判断 ~ 和绝对路径，否则 "\0/a" 会被当作相对路径
+            path = path.replace("\0", "");
+        }
+        String home = null;
+        int pathStart = 0;
+        if (path.startsWith("~") && (path.length() == 1 || path.charAt(1) == '/' || path.charAt(1) == '\\')) {
+            home = SystemUtils.getUserHome();
+            pathStart = 1;
+        }
+        final boolean absolute = null != home || isAbsolute(path);
+        if (absolute || null == basePath) {
+            basePath = "";
+        }
+        if (null != home) {
+            basePath = home;
+        }
+
+        // 1. 拼接到缓冲区，同时统一分隔符、去除 NUL、检查非法字符
+        final char[] buffer = new char[basePath.length() + 1 + path.length() - pathStart];
+        int length = 0;
+        for (int i = 0; i < basePath.length(); i++) {
+            final char c = basePath.charAt(i);
+            if (c != '\0') {
+                buffer[length++] = c == '\\' ? '/' : c;
+            }
+        }
+        if (length > 0) {
+            buffer[length++] = '/';
+        }
+        final int pathOffset = length;
+        for (int i = pathStart; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (c == '\0') {
+                continue;
+            }
+            if (windows && isIllegalOnWindows(c, length - pathOffset, absolute)) {
+                return ILLEGAL_CHARACTER;
+            }
+            buffer[length++] = c == '\\' ? '/' : c;
+        }
+        if (windows && length > 1 && buffer[0] == '/' && buffer[1] == '/') {
+            return UNC_PATH;
+        }
+
+        // 2. 确定根：/、盘符加 /、单独的盘符，或者相对路径
+        int root = 0;
+        if (length > 0 && buffer[0] == '/') {
+            root = 1;
+        } else if (length > 1 && buffer[1] == ':' && isLetter(buffer[0])) {
+            root = length > 2 && buffer[2] == '/' ? 3 : 2;
+        }
+
+        // 3. 在原缓冲区上逐段写回，写入位置不会超过读取位置
+        int out = root;
+        int read = root;
+        while (read < length) {
+            while (read < length && buffer[read] == '/') {
+                read++;
+            }
+            final int segmentStart = read;
+            while (read < length && buffer[read] != '/') {
+                read++;
+            }
+            final int segmentLength = read - segmentStart;
+            if (segmentLength == 0 || (segmentLength == 1 && buffer[segmentStart] == '.')) {
+                continue;
+            }
+            if (segmentLength == 2 && buffer[segmentStart] == '.' && buffer[segmentStart + 1] == '.') {
+                final int previous = previousSegmentStart(buffer, out, root);
+                if (previous < out && !isParentSegment(buffer, previous, out)) {
+                    // 回退上一段
+                    out = previous > root ? previous - 1 : root;
+                    continue;
+                }
+                if (root > 0) {
+                    // 绝对路径不能越过根，与 normalize() 一样丢弃
+                    continue;
+                }
+            }
+            if (out > root) {
+                buffer[out++] = '/';
+            }
+            System.arraycopy(buffer, segmentStart, buffer, out, segmentLength);
+            out += segmentLength;
+        }
+        if (out == 0) {
+            return EMPTY;
+        }
+        return new Result(new String(buffer, 0, out), Reason.OK);
+    }
+
+    /** 与 {@link FileUtils#isAbsolutePath} 的判断一致，但不使用正则 */
+    private static boolean isAbsolute(String path) {
+        if (path.isEmpty()) {
+            return false;
+        }
+        final char first = path.charAt(0);
+        if (first == '/' || first == '\\') {
+            return true;
+        }
+        return path.length() > 2 && isLetter(first) && path.charAt(1) == ':'
+                && (path.charAt(2) == '/' || path.charAt(2) == '\\');
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /** Windows 文件名中不允许的字符，绝对路径中盘符后的冒号除外 */
+    private static boolean isIllegalOnWindows(char c, int indexInPath, boolean absolute) {
+        return switch (c) {
+            case '<', '>', '"', '|', '?', '*' -> true;
+            case ':' -> !(absolute && indexInPath == 1);
+            default -> c < ' ';
+        };
+    }
+
+    /** 查找输出中最后一段的起始位置，没有可回退的段时返回 out */
+    private static int previousSegmentStart(char[] buffer, int out, int root) {
+        if (out <= root) {
+            return out;
+        }
+        int index = out - 1;
+        while (index >= root && buffer[index] != '/') {
+            index--;
+        }
+        return index + 1;
+    }
+
+    private static boolean isParentSegment(char[] buffer, int start, int end) {
+        return end - start == 2 && buffer[start] == '.' && buffer[start + 1] == '.';
+    }
+}
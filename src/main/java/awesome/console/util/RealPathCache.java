@@ -0,0 +1,172 @@
+package awesome.console.util;
+
+import com.intellij.openapi.vfs.VFileProperty;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 目录真实路径缓存
+ * 文件的真实路径由其父目录的真实路径加上文件名得到（文件本身是符号链接时除外），
+ * 因此只需缓存目录到真实路径的映射，符号链接的工作区根目录（Bazel、pnpm、Nix 等）下每个目录只解析一次
+ * <p>
+ * 路径是绝对路径，缓存在所有项目间共享；删除、移动、重命名和符号链接目标变更的 VFS 事件会使受影响的条目失效，
+ * 项目关闭（包括插件卸载时）释放索引时整体清空
+ */
+public final class RealPathCache {
+
+    /** 最多缓存的目录数，超出后整体清空 */
+    private static final int MAX_DIRECTORIES = 10_000;
+
+    /** 单批事件中影响缓存的事件超过此数量时整体清空，而不是逐个按前缀移除 */
+    private static final int MAX_PREFIX_INVALIDATIONS = 16;
+
+    private static final RealPathCache INSTANCE = new RealPathCache();
+
+    /** 目录到真实路径的映射 */
+    private final Map<Path, Path> realDirectories = new ConcurrentHashMap<>();
+
+    private RealPathCache() {
+    }
+
+    @NotNull
+    public static RealPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 解析路径的真实路径
+     * 没有 VirtualFile 时使用，需要访问磁盘判断文件本身是否为符号链接
+     *
+     * @param path 绝对路径
+     * @return 真实路径，无法解析时返回null
+     */
+    @Nullable
+    public Path resolve(@NotNull final Path path) {
+        try {
+            return resolve(path, Files.isSymbolicLink(path));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析文件的真实路径
+     * 文件是否为符号链接取自 VFS 已记录的属性，不访问磁盘
+     *
+     * @param file 本地文件
+     * @return 真实路径，无法解析时返回null
+     */
+    @Nullable
+    public Path resolve(@NotNull final VirtualFile file) {
+        try {
+            return resolve(Path.of(file.getPath()), file.is(VFileProperty.SYMLINK));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private Path resolve(@NotNull final Path path, final boolean symlink) {
+        try {
+            final Path parent = path.getParent();
+            // 文件本身是链接，或路径含有 . 和 .. 时（经过链接后 .. 的含义会变化）直接解析
+            if (null == parent || !path.equals(path.normalize()) || symlink) {
+                return path.toRealPath();
+            }
+            final Path realParent = resolveDirectory(parent);
+            return null == realParent ? null : realParent.resolve(path.getFileName().toString());
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析目录的真实路径，结果缓存
+     *
+     * @param directory 目录
+     * @return 真实路径，无法解析时返回null
+     */
+    @Nullable
+    private Path resolveDirectory(@NotNull final Path directory) {
+        final Path cached = realDirectories.get(directory);
+        if (null != cached) {
+            return cached;
+        }
+        try {
+            final Path real = directory.toRealPath();
+            if (realDirectories.size() >= MAX_DIRECTORIES) {
+                realDirectories.clear();
+            }
+            realDirectories.put(directory, real);
+            return real;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 根据 VFS 事件使受影响的条目失效
+     * 键或真实路径位于被删除、移动、重命名或重新指向的路径之下的条目都会被移除
+     *
+     * @param events VFS 事件
+     */
+    public void invalidate(@NotNull final List<? extends VFileEvent> events) {
+        if (realDirectories.isEmpty()) {
+            return;
+        }
+        final List<String> prefixes = new ArrayList<>();
+        for (VFileEvent event : events) {
+            final String path = switch (event) {
+                case VFileDeleteEvent e -> e.getPath();
+                case VFileMoveEvent e -> e.getOldPath();
+                case VFilePropertyChangeEvent e -> VirtualFile.PROP_NAME.equals(e.getPropertyName())
+                        || VirtualFile.PROP_SYMLINK_TARGET.equals(e.getPropertyName()) ? e.getOldPath() : null;
+                default -> null;
+            };
+            if (null == path) {
+                continue;
+            }
+            if (prefixes.size() >= MAX_PREFIX_INVALIDATIONS) {
+                realDirectories.clear();
+                return;
+            }
+            prefixes.add(path);
+        }
+        for (String prefix : prefixes) {
+            invalidate(prefix);
+        }
+    }
+
+    /**
+     * 移除位于指定路径之下的条目
+     *
+     * @param prefix 路径
+     */
+    public void invalidate(@NotNull final String prefix) {
+        final Path path;
+        try {
+            path = Path.of(prefix);
+        } catch (RuntimeException e) {
+            realDirectories.clear();
+            return;
+        }
+        realDirectories.entrySet().removeIf(entry -> entry.getKey().startsWith(path) || entry.getValue().startsWith(path));
+    }
+
+    /** 清空缓存 */
+    public void clear() {
+        realDirectories.clear();
+    }
+}
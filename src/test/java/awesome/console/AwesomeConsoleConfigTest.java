@@ -1,12 +1,17 @@
 package awesome.console;
 
+import awesome.console.config.AwesomeConsoleConfigListener;
 import awesome.console.config.AwesomeConsoleDefaults;
 import awesome.console.config.AwesomeConsoleStorage;
 import awesome.console.match.FileLinkMatch;
 import awesome.console.match.URLLinkMatch;
+import awesome.console.util.IgnoreDirectoryRules;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.testFramework.fixtures.BasePlatformTestCase;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
@@ -432,6 +437,34 @@ public class AwesomeConsoleConfigTest extends BasePlatformTestCase {
         }
     }
 
+    /**
+     * 测试忽略模式的目录级剪枝规则
+     * 只有能证明整棵子树都会被忽略的目录才允许剪枝
+     */
+    public void testIgnoreDirectoryRules() {
+        // 默认模式中只有 ^node_modules/ 可用于剪枝
+        IgnoreDirectoryRules defaults = IgnoreDirectoryRules.analyze(AwesomeConsoleDefaults.DEFAULT_IGNORE_PATTERN);
+        assertTrue("node_modules should be pruned", defaults.coversDirectory("node_modules"));
+        assertTrue("Nested dir in node_modules should be pruned", defaults.coversDirectory("node_modules/lodash"));
+        assertFalse("Nested node_modules is not covered by ^node_modules/", defaults.coversDirectory("web/node_modules"));
+        assertFalse("Similar name should not be pruned", defaults.coversDirectory("node_modules_backup"));
+        assertFalse("test dir should not be pruned by ^(?i)(start|dev|test)$", defaults.coversDirectory("test"));
+
+        // 分段锚点、无锚点和带标志的分支
+        IgnoreDirectoryRules rules = IgnoreDirectoryRules.analyze(
+            Pattern.compile("(^|/)build/|(?i)\\.gradle/.*|^out/[a-z]+\\.class$"));
+        assertTrue("build at root should be pruned", rules.coversDirectory("build"));
+        assertTrue("Nested build should be pruned", rules.coversDirectory("module/build"));
+        assertFalse("rebuild should not be pruned", rules.coversDirectory("rebuild"));
+        assertTrue(".gradle anywhere should be pruned", rules.coversDirectory("sub/.gradle"));
+        assertFalse("Branch with $ should fall back to per-file checks", rules.coversDirectory("out"));
+
+        // 无法分析的模式不做剪枝
+        assertTrue("Pattern without literal branches should not prune",
+            IgnoreDirectoryRules.analyze(Pattern.compile("^[a-z]+$")).isEmpty());
+        assertFalse("Empty path should not be pruned", rules.coversDirectory(""));
+    }
+
     // ========== 七、文件类型配置测试 ==========
 
     /**
@@ -495,6 +528,52 @@ public class AwesomeConsoleConfigTest extends BasePlatformTestCase {
         }
     }
 
+    /**
+     * 测试参与基础名索引的类文件扩展名配置
+     * 解析时转换为小写、去除每项两端的空白并忽略空白项，列表为空时不限制扩展名
+     */
+    public void testClassFileExtensionsConfiguration() {
+        String originalClassFileExtensions = storage.getClassFileExtensions();
+
+        try {
+            // 测试默认值
+            assertEquals("Default class file extensions should be parsed",
+                AwesomeConsoleStorage.parseClassFileExtensions(AwesomeConsoleDefaults.DEFAULT_CLASS_FILE_EXTENSIONS),
+                new AwesomeConsoleStorage().classFileExtensionSet);
+            assertTrue("Should contain java by default",
+                new AwesomeConsoleStorage().classFileExtensionSet.contains("java"));
+
+            // 测试空白和大小写
+            storage.setClassFileExtensions(" Java , KT,,  scala ");
+            assertEquals("Should keep the original text", " Java , KT,,  scala ", storage.getClassFileExtensions());
+            assertEquals("Should trim, lowercase and skip blank items",
+                Set.of("java", "kt", "scala"), storage.classFileExtensionSet);
+
+            // 边界测试：空列表和只有分隔符、空白的列表
+            storage.setClassFileExtensions("");
+            assertTrue("Empty list should not restrict extensions", storage.classFileExtensionSet.isEmpty());
+            storage.setClassFileExtensions(" , ,");
+            assertTrue("Blank items should be ignored", storage.classFileExtensionSet.isEmpty());
+        } finally {
+            storage.setClassFileExtensions(originalClassFileExtensions);
+        }
+    }
+
+    /**
+     * 测试文件扩展名是否在基础名索引范围内的判断
+     * 扩展名不区分大小写，没有扩展名的文件不在非空集合的范围内，空集合时所有文件都在范围内
+     */
+    public void testHasClassFileExtension() {
+        final Set<String> extensions = AwesomeConsoleStorage.parseClassFileExtensions("java, KT");
+        assertTrue(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Foo.java"), extensions));
+        assertTrue(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Foo.JAVA"), extensions));
+        assertTrue(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Foo.kt"), extensions));
+        assertFalse(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Foo.txt"), extensions));
+        assertFalse(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Makefile"), extensions));
+        assertTrue(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Makefile"), Set.of()));
+        assertTrue(AwesomeProjectFilesIterator.hasClassFileExtension(new LightVirtualFile("Foo.txt"), Set.of()));
+    }
+
     // ========== 八、其他兼容性配置测试 ==========
 
     /**
@@ -656,6 +735,27 @@ public class AwesomeConsoleConfigTest extends BasePlatformTestCase {
         }
     }
 
+    /**
+     * 测试空闲挂起索引的配置
+     * 验证默认关闭，并且表单中的开关控制超时输入框的启用状态
+     */
+    public void testSuspendIdleIndexConfiguration() {
+        assertFalse("Idle suspension should be disabled by default",
+            AwesomeConsoleDefaults.DEFAULT_SUSPEND_IDLE_INDEX);
+        assertFalse("New storage should not suspend idle indexes",
+            new AwesomeConsoleStorage().suspendIdleIndex);
+
+        awesome.console.config.AwesomeConsoleConfigForm form = new awesome.console.config.AwesomeConsoleConfigForm();
+        form.initSuspendIdleIndex(false, AwesomeConsoleDefaults.DEFAULT_INDEX_IDLE_TIMEOUT_MINUTES);
+        assertFalse("Checkbox should reflect the stored value", form.suspendIdleIndexCheckBox.isSelected());
+        assertFalse("Timeout should be disabled while suspension is off", form.idleTimeoutSpinner.isEnabled());
+
+        form.initSuspendIdleIndex(true, 15);
+        assertTrue("Checkbox should reflect the stored value", form.suspendIdleIndexCheckBox.isSelected());
+        assertTrue("Timeout should be enabled while suspension is on", form.idleTimeoutSpinner.isEnabled());
+        assertEquals("Timeout should reflect the stored value", 15, form.idleTimeoutSpinner.getValue());
+    }
+
     // ========== 九、配置持久化测试 ==========
 
     /**
@@ -797,6 +897,17 @@ public class AwesomeConsoleConfigTest extends BasePlatformTestCase {
             paths, Collections.emptyList());
     }
 
+    /**
+     * 断言类名解析到的文件
+     * @param className 完全限定类名
+     * @param expectedNames 期望解析到的文件名
+     */
+    private void assertClassResolvesTo(@NotNull final String className, @NotNull final String... expectedNames) {
+        List<String> names = filter.findFilesByClassName(className).stream()
+            .map(VirtualFile::getName).collect(Collectors.toList());
+        assertSameElements("Class " + className + " should resolve to", names, expectedNames);
+    }
+
     /**
      * 断言URL检测结果
      * @param line 待测试的文本行
@@ -945,6 +1056,41 @@ public class AwesomeConsoleConfigTest extends BasePlatformTestCase {
         }
     }
 
+    /**
+     * 测试类文件扩展名配置的功能验证
+     * 修改扩展名后通知 CLASS_FILE_EXTENSIONS_CHANGED，基础名索引按新的扩展名重建，类名只解析到范围内的文件
+     */
+    public void testClassFileExtensionsFunctionality() {
+        boolean originalSearchFiles = storage.searchFiles;
+        boolean originalSearchClasses = storage.searchClasses;
+        String originalClassFileExtensions = storage.getClassFileExtensions();
+
+        try {
+            myFixture.addFileToProject("pkg/Widget.kt", "");
+            myFixture.addFileToProject("pkg/Widget.txt", "");
+            storage.searchFiles = true;
+            storage.searchClasses = true;
+            storage.setClassFileExtensions("kt");
+            filter = new AwesomeLinkFilter(getProject());
+            filter.manualRebuild();
+            assertClassResolvesTo("pkg.Widget", "Widget.kt");
+
+            storage.setClassFileExtensions("TXT");
+            filter.configChanged(AwesomeConsoleConfigListener.ConfigChangeType.CLASS_FILE_EXTENSIONS_CHANGED);
+            assertClassResolvesTo("pkg.Widget", "Widget.txt");
+
+            // 空列表时所有文件都参与基础名索引
+            storage.setClassFileExtensions("");
+            filter.configChanged(AwesomeConsoleConfigListener.ConfigChangeType.CLASS_FILE_EXTENSIONS_CHANGED);
+            assertClassResolvesTo("pkg.Widget", "Widget.kt", "Widget.txt");
+        } finally {
+            storage.searchFiles = originalSearchFiles;
+            storage.searchClasses = originalSearchClasses;
+            storage.setClassFileExtensions(originalClassFileExtensions);
+            filter = new AwesomeLinkFilter(getProject());
+        }
+    }
+
     /**
      * 测试URL搜索配置的功能验证
      * 验证禁用URL搜索后，URL不会被检测
@@ -10,7 +10,18 @@ import static awesome.console.IntegrationTest.parseTemplate;
 
 import awesome.console.match.FileLinkMatch;
 import awesome.console.match.URLLinkMatch;
+import awesome.console.util.FileIdSnapshot;
+import awesome.console.util.HyperlinkInfoInterner;
+import com.intellij.execution.filters.Filter;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.PsiTestUtil;
 import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -3012,6 +3023,151 @@ List<URLLinkMatch> matches = filter.detectURLs(line);
 		assertTrue("File count should be non-negative", filter.getTotalCachedFiles() >= 0);
 	}
 
+	/**
+	 * 测试快照缺失时的索引恢复
+	 * 挂起后快照不可用时改为完整重建，索引回到 HOT 状态而不是一直停留在挂起状态；
+	 * 恢复结束后恢复标记被清除，再次挂起后仍能恢复
+	 */
+	public void testRestoreWithoutSnapshotFallsBackToRebuild() {
+		filter.manualRebuild();
+		assertEquals(AwesomeLinkFilter.IndexLifecycleState.HOT, filter.getLifecycleState());
+
+		for (int round = 0; round < 2; round++) {
+			filter.suspendIndex("test");
+			assertEquals(AwesomeLinkFilter.IndexLifecycleState.SUSPENDED, filter.getLifecycleState());
+			FileIdSnapshot.delete(filter.getIndexSnapshotPath());
+
+			filter.restoreIndex();
+			assertEquals("round " + round, AwesomeLinkFilter.IndexLifecycleState.HOT, filter.getLifecycleState());
+			assertNotNull(filter.detectPaths("Error in test.java:10"));
+		}
+	}
+
+	/**
+	 * 测试重新过滤和快照恢复后的候选顺序
+	 * 两者都从按父目录路径排序的父目录索引重建名称索引，候选仍应按路径短的优先排列，
+	 * 设置结果上限时只返回排在最前的文件
+	 */
+	public void testCandidateRankingSurvivesRefilterAndRestore() {
+		myFixture.addFileToProject("aaa/bbb/Dup.txt", "");
+		myFixture.addFileToProject("zz/Dup.txt", "");
+		final awesome.console.config.AwesomeConsoleStorage storage = awesome.console.config.AwesomeConsoleStorage.getInstance();
+		final boolean originalUseIgnorePattern = storage.useIgnorePattern;
+		final String originalIgnorePattern = storage.getIgnorePatternText();
+		final boolean originalUseResultLimit = storage.useResultLimit;
+		final int originalResultLimit = storage.getResultLimit();
+		try {
+			storage.useResultLimit = true;
+			storage.setResultLimit(1);
+			filter.manualRebuild();
+			assertFirstCandidate("Dup.txt", "/zz/Dup.txt");
+
+			storage.useIgnorePattern = true;
+			storage.setIgnorePatternText("^never-ignored-");
+			filter.configChanged(awesome.console.config.AwesomeConsoleConfigListener.ConfigChangeType.IGNORE_PATTERN_CHANGED);
+			assertFirstCandidate("Dup.txt", "/zz/Dup.txt");
+
+			filter.suspendIndex("test");
+			filter.restoreIndex();
+			assertEquals(AwesomeLinkFilter.IndexLifecycleState.HOT, filter.getLifecycleState());
+			assertFirstCandidate("Dup.txt", "/zz/Dup.txt");
+
+			storage.setResultLimit(2);
+			final List<String> paths = filter.findMatchingFilesInCache("Dup.txt").stream().map(VirtualFile::getPath).toList();
+			assertEquals(2, paths.size());
+			assertTrue(paths.toString(), paths.get(1).endsWith("/aaa/bbb/Dup.txt"));
+		} finally {
+			storage.useIgnorePattern = originalUseIgnorePattern;
+			storage.setIgnorePatternText(originalIgnorePattern);
+			storage.useResultLimit = originalUseResultLimit;
+			storage.setResultLimit(originalResultLimit);
+		}
+	}
+
+	private void assertFirstCandidate(String fileName, String expectedSuffix) {
+		final List<VirtualFile> files = filter.findMatchingFilesInCache(fileName);
+		assertNotNull(files);
+		assertEquals(1, files.size());
+		assertTrue(files.get(0).getPath(), files.get(0).getPath().endsWith(expectedSuffix));
+	}
+
+	/**
+	 * 测试按相对路径在父目录索引中精确查找
+	 * 相对路径先基于项目根目录解析，再依次基于各内容根解析，. 和 .. 在查找前规范化
+	 */
+	public void testFindIndexedFileByRelativePath() throws IOException {
+		final String basePath = getProject().getBasePath();
+		assertNotNull(basePath);
+		final Path baseDir = Files.createDirectories(Path.of(basePath, "indexed-base", "pkg"));
+		Files.writeString(baseDir.resolve("Base.txt"), "");
+		final VirtualFile baseRoot = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(baseDir.getParent());
+		assertNotNull(baseRoot);
+		VfsUtil.markDirtyAndRefresh(false, true, true, baseRoot);
+		final VirtualFile secondRoot = myFixture.getTempDirFixture().findOrCreateDir("second");
+		myFixture.getTempDirFixture().createFile("second/pkg/Second.txt");
+		final VirtualFile source = myFixture.addFileToProject("pkg/Source.txt", "").getVirtualFile();
+		PsiTestUtil.addContentRoot(getModule(), baseRoot);
+		PsiTestUtil.addContentRoot(getModule(), secondRoot);
+		try {
+			filter.manualRebuild();
+
+			// 项目根目录下的路径：内容根是项目根目录的子目录，从项目根目录开始的路径只能基于项目根目录解析
+			final VirtualFile base = filter.findIndexedFileByRelativePath("indexed-base/pkg/Base.txt");
+			assertNotNull(base);
+			assertTrue(base.getPath(), base.getPath().endsWith("/indexed-base/pkg/Base.txt"));
+			assertEquals(base, filter.findIndexedFileByRelativePath("pkg/Base.txt"));
+
+			// 第二个内容根下的路径，以及源代码根目录（同样是内容根）下的路径
+			assertEquals("/second/pkg/Second.txt", filter.findIndexedFileByRelativePath("pkg/Second.txt").getPath());
+			assertEquals(source, filter.findIndexedFileByRelativePath("pkg/Source.txt"));
+
+			// . 和 .. 规范化后查找，越过所有根目录的路径不命中
+			assertEquals(source, filter.findIndexedFileByRelativePath("./pkg/../pkg/Source.txt"));
+			assertEquals("/second/pkg/Second.txt", filter.findIndexedFileByRelativePath("pkg/./x/../Second.txt").getPath());
+			assertNull(filter.findIndexedFileByRelativePath("../../../pkg/Missing.txt"));
+
+			// 绝对路径不在索引中查找
+			assertNull(filter.findIndexedFileByRelativePath("/second/pkg/Second.txt"));
+		} finally {
+			PsiTestUtil.removeContentEntry(getModule(), secondRoot);
+			PsiTestUtil.removeContentEntry(getModule(), baseRoot);
+			FileUtil.delete(baseDir.getParent().toFile());
+		}
+	}
+
+	/**
+	 * 测试索引中查不到的相对路径回退到磁盘检查
+	 * 被忽略的文件不在索引中，不会由精确查找命中；不在任何内容根下的磁盘文件由磁盘检查生成超链接
+	 */
+	public void testUnindexedRelativePathFallsBackToDiskCheck() throws IOException {
+		final String basePath = getProject().getBasePath();
+		assertNotNull(basePath);
+		final Path diskDir = Files.createDirectories(Path.of(basePath, "not-indexed"));
+		Files.writeString(diskDir.resolve("Disk.txt"), "");
+		final VirtualFile ignored = myFixture.addFileToProject("pkg/Skipped.txt", "").getVirtualFile();
+		final awesome.console.config.AwesomeConsoleStorage storage = awesome.console.config.AwesomeConsoleStorage.getInstance();
+		final boolean originalUseIgnorePattern = storage.useIgnorePattern;
+		final String originalIgnorePattern = storage.getIgnorePatternText();
+		try {
+			storage.useIgnorePattern = true;
+			storage.setIgnorePatternText("^Skipped\\.txt$");
+			filter.manualRebuild();
+			assertTrue(ignored.isValid());
+			assertNull(filter.findIndexedFileByRelativePath("pkg/Skipped.txt"));
+
+			assertNull(filter.findIndexedFileByRelativePath("not-indexed/Disk.txt"));
+			final String line = "at not-indexed/Disk.txt:3";
+			final List<Filter.ResultItem> items = filter.extractFileLinksFromLine(line, 0, false, new HyperlinkInfoInterner());
+			assertEquals(1, items.size());
+			assertEquals(line.indexOf("not-indexed"), items.get(0).getHighlightStartOffset());
+			assertEquals(line.length(), items.get(0).getHighlightEndOffset());
+		} finally {
+			storage.useIgnorePattern = originalUseIgnorePattern;
+			storage.setIgnorePatternText(originalIgnorePattern);
+			FileUtil.delete(diskDir.toFile());
+		}
+	}
+
 	// ========== Go语言测试用例 ==========
 
 	/**
@@ -3644,4 +3800,33 @@ List<URLLinkMatch> matches = filter.detectURLs(line);
 		assertTrue("Should detect Service.java", foundService);
 		assertTrue("Should detect Repository.java", foundRepository);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * 测试控制台过滤器的创建
+	 * AwesomeLinkFilter 只是项目共享的索引，控制台通过提供者获得各自的 AwesomeConsoleFilter，终端标志由过滤器携带
+	 */
+	public void testConsoleFiltersAreCreatedThroughProvider() {
+		assertFalse("Shared index should not be a console filter itself", Filter.class.isAssignableFrom(AwesomeLinkFilter.class));
+
+		final AwesomeLinkFilterProvider provider = new AwesomeLinkFilterProvider();
+		final Filter[] consoleFilters = provider.getDefaultFilters(getProject(), false);
+		final Filter[] terminalFilters = provider.getDefaultFilters(getProject(), true);
+		assertEquals(1, consoleFilters.length);
+		assertEquals(1, terminalFilters.length);
+		assertTrue(consoleFilters[0] instanceof AwesomeConsoleFilter);
+		assertTrue(terminalFilters[0] instanceof AwesomeConsoleFilter);
+		assertFalse(((AwesomeConsoleFilter) consoleFilters[0]).isTerminal());
+		assertTrue(((AwesomeConsoleFilter) terminalFilters[0]).isTerminal());
+		assertNotSame("Each console should get its own filter", consoleFilters[0], provider.getDefaultFilters(getProject(), false)[0]);
+
+		final String line = "See https://example.com/docs for details\n";
+		for (Filter consoleFilter : new Filter[]{consoleFilters[0], terminalFilters[0]}) {
+			final Filter.Result result = consoleFilter.applyFilter(line, line.length());
+			assertNotNull(result);
+			final List<Filter.ResultItem> items = result.getResultItems();
+			assertEquals(1, items.size());
+			assertEquals(line.indexOf("https"), items.get(0).getHighlightStartOffset());
+			assertEquals(line.indexOf(" for"), items.get(0).getHighlightEndOffset());
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package awesome.console;
+
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * CandidateRanking 测试类
+ * 覆盖源代码根目录、测试和资源根目录与其余内容的层级，以及同一层级内按路径长度和路径排序
+ */
+public class CandidateRankingTest extends TestCase {
+
+    private static final CandidateRanking RANKING = CandidateRanking.of(
+            List.of("/p/src/main/java"),
+            List.of("/p/src/main/java", "/p/src/test/java", "/p/src/main/resources"));
+
+    public void testTiers() {
+        assertEquals(0, RANKING.tier("/p/src/main/java/a/Foo.java"));
+        assertEquals(1, RANKING.tier("/p/src/test/java/a/Foo.java"));
+        assertEquals(1, RANKING.tier("/p/src/main/resources/Foo.java"));
+        assertEquals(2, RANKING.tier("/p/build/generated/Foo.java"));
+        assertEquals(2, RANKING.tier("/p/src/main/javadoc/Foo.java"));
+        assertEquals(2, CandidateRanking.NONE.tier("/p/src/main/java/a/Foo.java"));
+    }
+
+    /**
+     * 测试排序
+     * 层级优先于路径长度，较深的源代码文件排在较浅的其他文件之前；层级相同时路径短的在前，与输入顺序无关
+     */
+    public void testOrder() {
+        final List<String> expected = List.of(
+                "/p/src/main/java/Foo.java",
+                "/p/src/main/java/a/b/c/Foo.java",
+                "/p/src/test/java/Foo.java",
+                "/p/Foo.java",
+                "/p/aaa/Foo.java",
+                "/p/zzz/Foo.java",
+                "/p/aaa/bbb/ccc/Foo.java");
+        final List<String> shuffled = new ArrayList<>(expected);
+        // 按路径的字典序排列，与父目录索引的遍历顺序相同
+        shuffled.sort(null);
+        assertFalse(expected.equals(shuffled));
+        shuffled.sort(RANKING::compare);
+        assertEquals(expected, shuffled);
+    }
+}
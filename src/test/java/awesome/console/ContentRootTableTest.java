@@ -0,0 +1,103 @@
+package awesome.console;
+
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * ContentRootTable 测试类
+ * 覆盖嵌套根的合并、包含项目根目录的内容根、排序中夹在根与其子路径之间的兄弟根、不带 / 结尾的根目录本身和相对路径转换
+ */
+public class ContentRootTableTest extends TestCase {
+
+    public void testEmptyTable() {
+        assertEquals(0, ContentRootTable.EMPTY.size());
+        assertNull(ContentRootTable.EMPTY.getBasePath());
+        assertNull(ContentRootTable.EMPTY.findRoot("/p/src/Main.java"));
+        assertEquals("/p/src/Main.java", ContentRootTable.EMPTY.relativize("/p/src/Main.java"));
+    }
+
+    /**
+     * 测试嵌套根的合并
+     * 嵌套在项目根目录或其他内容根之下的内容根归属外层根
+     */
+    public void testNestedRootsCollapseIntoOutermost() {
+        final ContentRootTable table = ContentRootTable.ofPaths("/p", List.of("/p/module", "/p/module/src/", "/q/lib"));
+        assertEquals(2, table.size());
+        assertEquals("/p", table.getBasePath());
+        assertEquals("/p/", table.findRoot("/p/module/src/Main.java"));
+        assertEquals("module/src/Main.java", table.relativize("/p/module/src/Main.java"));
+        assertEquals("/q/lib/", table.findRoot("/q/lib/a.jar"));
+        assertNull(table.findRoot("/q/other/a.jar"));
+        assertNull(table.findRoot("/"));
+    }
+
+    /**
+     * 测试包含项目根目录的内容根
+     * 项目根目录之下的路径仍相对项目根目录，只有其外的路径相对外层内容根
+     */
+    public void testContentRootEnclosingBasePath() {
+        final ContentRootTable table = ContentRootTable.ofPaths("/ws/app", List.of("/ws", "/ws/app/module"));
+        assertEquals(1, table.size());
+        assertEquals("/ws/app/", table.findRoot("/ws/app/node_modules/a.js"));
+        assertEquals("node_modules/a.js", table.relativize("/ws/app/node_modules/a.js"));
+        assertEquals("module/src/Main.java", table.relativize("/ws/app/module/src/Main.java"));
+        assertEquals("", table.relativize("/ws/app"));
+        assertEquals("", table.relativize("/ws/app/"));
+        // 项目根目录之外、外层内容根之内的路径
+        assertEquals("/ws/", table.findRoot("/ws/lib/a.js"));
+        assertEquals("lib/a.js", table.relativize("/ws/lib/a.js"));
+        assertEquals("app-old/a.js", table.relativize("/ws/app-old/a.js"));
+        assertEquals("", table.relativize("/ws"));
+        assertNull(table.findRoot("/other/a.js"));
+    }
+
+    /**
+     * 测试兄弟根的排序
+     * - 小于 /，因此 /a-b/ 排在 /a/ 之前，/a/ 之下的路径（如 /a/x）又排在 /a-b/ 之后
+     */
+    public void testSiblingWithDashSortsBeforeSlash() {
+        final ContentRootTable table = ContentRootTable.ofPaths(null, List.of("/a", "/a-b", "/a.c/"));
+        assertEquals(3, table.size());
+        assertEquals("/a/", table.findRoot("/a/x"));
+        assertEquals("/a/", table.findRoot("/a/x-y/z"));
+        assertEquals("/a-b/", table.findRoot("/a-b/x"));
+        assertEquals("/a.c/", table.findRoot("/a.c/x"));
+        assertEquals("x", table.relativize("/a-b/x"));
+        // 与根同前缀但不在根之下的路径
+        assertNull(table.findRoot("/a-"));
+        assertNull(table.findRoot("/a-bc/x"));
+        assertNull(table.findRoot("/ab/x"));
+        assertFalse(table.isUnderRoot("/a0/x"));
+
+        // 只有 /a/ 时，/a-b/ 下的路径不会被误判为在 /a/ 之下
+        final ContentRootTable single = ContentRootTable.ofPaths(null, List.of("/a/"));
+        assertNull(single.findRoot("/a-b/x"));
+        assertEquals("/a/", single.findRoot("/a/x"));
+    }
+
+    /**
+     * 测试根目录本身
+     * 不带 / 结尾的根目录路径（如 VirtualFile.getPath()）视为在该根之下，相对路径为空字符串，
+     * 包括根与其本身之间隔着其他兄弟根（/a 与 /a/ 之间的 /a-b/）的情况
+     */
+    public void testRootPathWithoutTrailingSlash() {
+        final ContentRootTable table = ContentRootTable.ofPaths("/p", List.of());
+        assertEquals("/p/", table.findRoot("/p"));
+        assertEquals("/p/", table.findRoot("/p/"));
+        assertTrue(table.isUnderRoot("/p"));
+        assertEquals("", table.relativize("/p"));
+        assertEquals("", table.relativize("/p/"));
+        assertNull(table.findRoot("/"));
+        assertNull(table.findRoot("/pp"));
+
+        final ContentRootTable siblings = ContentRootTable.ofPaths(null, List.of("/a", "/a-b", "/a.c", "/a/b"));
+        assertEquals("/a/", siblings.findRoot("/a"));
+        assertEquals("/a-b/", siblings.findRoot("/a-b"));
+        assertEquals("/a.c/", siblings.findRoot("/a.c"));
+        assertEquals("", siblings.relativize("/a"));
+        // 嵌套根已合并，其路径本身属于外层根
+        assertEquals("/a/", siblings.findRoot("/a/b"));
+        assertEquals("b", siblings.relativize("/a/b"));
+        assertNull(siblings.findRoot("/a-"));
+    }
+}
@@ -0,0 +1,119 @@
+package awesome.console;
+
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * TokenScorer 测试类
+ * 覆盖词的分类、按文件名和扩展名跳过、类搜索的基础名、内部类标记、快照的代数和失效以及增量新增文件名
+ */
+public class TokenScorerTest extends TestCase {
+
+    private static final List<String> FILE_NAMES = List.of("Foo.java", "Bar.kt", "Makefile", "build.gradle");
+
+    public void testCategorize() {
+        assertEquals(TokenScorer.Category.PATH, TokenScorer.categorize("src/Foo.java"));
+        assertEquals(TokenScorer.Category.PATH, TokenScorer.categorize("C:Foo.java"));
+        assertEquals(TokenScorer.Category.PATH, TokenScorer.categorize("~"));
+        assertEquals(TokenScorer.Category.PATH, TokenScorer.categorize(".."));
+        assertEquals(TokenScorer.Category.FILE_NAME, TokenScorer.categorize("Foo.java"));
+        assertEquals(TokenScorer.Category.FILE_NAME, TokenScorer.categorize("com.example.Foo"));
+        assertEquals(TokenScorer.Category.BARE_WORD, TokenScorer.categorize("Makefile"));
+        assertEquals(TokenScorer.Category.BARE_WORD, TokenScorer.categorize("Foo."));
+    }
+
+    /**
+     * 测试按索引中的文件名跳过
+     * 项目中不存在的扩展名和名称被跳过，路径总是解析
+     */
+    public void testSkipsUnknownNames() {
+        final TokenScorer scorer = new TokenScorer();
+        scorer.rebuild(1, FILE_NAMES, null);
+        assertTrue(scorer.isPlausible("Foo.java", 1, 0));
+        assertTrue(scorer.isPlausible("Makefile", 1, 0));
+        assertTrue(scorer.isPlausible("Foo", 1, 0));
+        assertTrue(scorer.isPlausible("missing/Thing.java", 1, 0));
+        assertFalse(scorer.isPlausible("Thing.java", 1, 0));
+        assertFalse(scorer.isPlausible("Foo.xyz", 1, 0));
+        assertFalse(scorer.isPlausible("hello", 1, 0));
+        assertEquals(2.0 / 3, scorer.getSkipRate(TokenScorer.Category.FILE_NAME), 1e-9);
+        assertEquals(1.0 / 3, scorer.getSkipRate(TokenScorer.Category.BARE_WORD), 1e-9);
+    }
+
+    /**
+     * 测试类搜索
+     * 开启类搜索时按末尾的点号分段查找基础名，未开启时全限定类名被跳过
+     */
+    public void testClassSearchChecksBaseNames() {
+        final TokenScorer scorer = new TokenScorer();
+        scorer.rebuild(1, FILE_NAMES, null);
+        assertTrue(scorer.isPlausible("com.example.Foo", 1, 2));
+        assertTrue(scorer.isPlausible("com.example.Foo.method", 1, 2));
+        assertFalse(scorer.isPlausible("com.example.Foo.method.inner", 1, 2));
+        assertFalse(scorer.isPlausible("com.example.Foo", 1, 0));
+    }
+
+    /**
+     * 测试内部类标记
+     * 缓存查找前会去掉末尾的 $，评分必须使用同一个名称，否则 com.example.Foo$ 这样的词会被错误跳过
+     */
+    public void testInnerClassMarkerIsStrippedBeforeScoring() {
+        final TokenScorer scorer = new TokenScorer();
+        scorer.rebuild(1, FILE_NAMES, null);
+        assertFalse("raw token would be skipped", scorer.isPlausible("com.example.Foo$", 1, 2));
+        assertEquals("com.example.Foo", AwesomeLinkFilter.stripInnerClassMarker("com.example.Foo$"));
+        assertTrue(scorer.isPlausible(AwesomeLinkFilter.stripInnerClassMarker("com.example.Foo$"), 1, 2));
+        assertTrue(scorer.isPlausible(AwesomeLinkFilter.stripInnerClassMarker("Foo$"), 1, 0));
+        assertEquals("Foo$Bar", AwesomeLinkFilter.stripInnerClassMarker("Foo$Bar"));
+    }
+
+    /**
+     * 测试快照的代数和失效
+     * 快照不属于当前代数或已失效时不跳过任何词
+     */
+    public void testStaleOrInvalidatedSnapshotSkipsNothing() {
+        final TokenScorer scorer = new TokenScorer();
+        assertTrue(scorer.isStale(1));
+        assertTrue(scorer.isPlausible("Thing.java", 1, 0));
+
+        scorer.rebuild(1, FILE_NAMES, null);
+        assertFalse(scorer.isStale(1));
+        assertFalse(scorer.isPlausible("Thing.java", 1, 0));
+        assertTrue(scorer.isStale(2));
+        assertTrue(scorer.isPlausible("Thing.java", 2, 0));
+
+        scorer.invalidate();
+        assertTrue(scorer.isStale(1));
+        assertTrue(scorer.isPlausible("Thing.java", 1, 0));
+    }
+
+    /**
+     * 测试增量新增文件名
+     * 新增的文件名、基础名和扩展名直接写入当前快照，不需要重建，快照的代数不变；
+     * 重建期间新增的文件名在重建完成时补入新快照
+     */
+    public void testAddedNamesArePlausibleWithoutRebuild() {
+        final TokenScorer scorer = new TokenScorer();
+        scorer.addNames(List.of("Ignored.java"));
+        scorer.beginRebuild();
+        scorer.rebuild(1, FILE_NAMES, null);
+        assertFalse(scorer.isPlausible("Thing.xyz", 1, 0));
+        assertFalse(scorer.isPlausible("com.example.Thing", 1, 2));
+        // 没有快照时新增的文件名已包含在重建复制的文件名中，不需要记录
+        assertFalse(scorer.isPlausible("Ignored.java", 1, 0));
+
+        scorer.addNames(List.of("Thing.xyz"));
+        assertFalse(scorer.isStale(1));
+        assertTrue(scorer.isPlausible("Thing.xyz", 1, 0));
+        assertTrue(scorer.isPlausible("com.example.Thing", 1, 2));
+        assertFalse(scorer.isPlausible("Other.xyz", 1, 0));
+
+        // 复制文件名之后、重建完成之前新增的文件名不会丢失
+        scorer.beginRebuild();
+        scorer.addNames(List.of("Late.java"));
+        scorer.rebuild(2, FILE_NAMES, null);
+        assertFalse(scorer.isStale(2));
+        assertTrue(scorer.isPlausible("Late.java", 2, 0));
+        assertFalse(scorer.isPlausible("Thing.xyz", 2, 0));
+    }
+}
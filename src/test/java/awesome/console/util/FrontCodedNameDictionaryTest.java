@@ -0,0 +1,128 @@
+package awesome.console.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * FrontCodedNameDictionary 测试类
+ * 覆盖块边界、变长整数长度、多字节 UTF-8 和不存在的名称
+ * 与堆上 Map 的内存占用和查找耗时对比见 src/jmh 中的 FrontCodedNameDictionaryBenchmark
+ */
+public class FrontCodedNameDictionaryTest extends TestCase {
+
+    /** 与字典实现一致的块大小 */
+    private static final int BLOCK_SIZE = 16;
+
+    public void testEmptyDictionary() {
+        final FrontCodedNameDictionary dictionary = FrontCodedNameDictionary.build(List.of());
+        assertSame(FrontCodedNameDictionary.EMPTY, dictionary);
+        assertEquals(0, dictionary.size());
+        assertEquals(-1, dictionary.indexOf(""));
+        assertEquals(-1, dictionary.indexOf("a"));
+        try {
+            dictionary.get(0);
+            fail("Empty dictionary should reject every ordinal");
+        } catch (IndexOutOfBoundsException expected) {
+            // 预期异常
+        }
+    }
+
+    /**
+     * 测试块边界
+     * 名称数恰好为一块、多一个、跨多块时，每块首项、末项和最后一个不满的块都能查到
+     */
+    public void testBlockBoundaries() {
+        for (int count : new int[]{1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, 2 * BLOCK_SIZE, 3 * BLOCK_SIZE + 5}) {
+            final List<String> names = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                names.add(String.format("File%04d.java", i));
+            }
+            assertRoundTrip(names);
+        }
+    }
+
+    /**
+     * 测试变长整数的长度
+     * 共享前缀和后缀长度跨过 1 字节（128）和 2 字节（16384）的编码边界
+     */
+    public void testVarIntLengths() {
+        final List<String> names = new ArrayList<>();
+        for (int length : new int[]{127, 128, 129, 16383, 16384, 16385}) {
+            final String prefix = "p".repeat(length);
+            names.add(prefix);
+            names.add(prefix + "a");
+            names.add(prefix + "b".repeat(length));
+        }
+        names.sort(null);
+        assertRoundTrip(names);
+    }
+
+    /**
+     * 测试多字节 UTF-8
+     * 包括共享前缀落在多字节字符中间的情况（文 和 斗 的 UTF-8 编码只有最后一个字节不同），
+     * 以及 UTF-16 代理对（按 String 排序与按 UTF-8 字节排序的顺序不同）
+     */
+    public void testMultibyteUtf8() {
+        final List<String> names = new ArrayList<>(List.of(
+                "中文.txt", "中斗.txt", "中", "日本語.md", "café.java", "cafe.java",
+                "😀smile.png", "😁grin.png", "�replacement", "Ωmega.kt", "ａ全角.txt"
+        ));
+        for (int i = 0; i < 40; i++) {
+            names.add("目录" + i + "文件.java");
+        }
+        names.sort(null);
+        assertRoundTrip(names);
+        final FrontCodedNameDictionary dictionary = FrontCodedNameDictionary.build(names);
+        assertEquals(-1, dictionary.indexOf("中文"));
+        assertEquals(-1, dictionary.indexOf("😂joy.png"));
+        assertEquals(-1, dictionary.indexOf("目录100文件.java"));
+    }
+
+    /**
+     * 测试不存在的名称
+     * 小于首项、大于末项、位于两块之间、已有名称的前缀和以已有名称为前缀的名称
+     */
+    public void testAbsentNames() {
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5 * BLOCK_SIZE; i += 2) {
+            names.add(String.format("name%03d", i));
+        }
+        final FrontCodedNameDictionary dictionary = FrontCodedNameDictionary.build(names);
+        assertEquals(-1, dictionary.indexOf(""));
+        assertEquals(-1, dictionary.indexOf("a"));
+        assertEquals(-1, dictionary.indexOf("zzz"));
+        assertEquals(-1, dictionary.indexOf("name001"));
+        assertEquals(-1, dictionary.indexOf(String.format("name%03d", 2 * BLOCK_SIZE - 1)));
+        assertEquals(-1, dictionary.indexOf("name"));
+        assertEquals(-1, dictionary.indexOf("name0000"));
+        assertEquals(-1, dictionary.indexOf(names.get(names.size() - 1) + "x"));
+    }
+
+    public void testRejectsUnsortedOrDuplicateNames() {
+        try {
+            FrontCodedNameDictionary.build(List.of("b", "a"));
+            fail("Unsorted names should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // 预期异常
+        }
+        try {
+            FrontCodedNameDictionary.build(List.of("a", "a"));
+            fail("Duplicate names should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // 预期异常
+        }
+    }
+
+    private static void assertRoundTrip(List<String> names) {
+        final FrontCodedNameDictionary dictionary = FrontCodedNameDictionary.build(names);
+        assertEquals(names.size(), dictionary.size());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals("ordinal of " + names.get(i), i, dictionary.indexOf(names.get(i)));
+            assertEquals("name at " + i, names.get(i), dictionary.get(i));
+        }
+        final List<String> iterated = new ArrayList<>();
+        dictionary.forEach(iterated::add);
+        assertEquals(names, iterated);
+    }
+}
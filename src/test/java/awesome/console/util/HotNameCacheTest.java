@@ -0,0 +1,141 @@
+package awesome.console.util;
+
+import junit.framework.TestCase;
+
+/**
+ * HotNameCache 测试类
+ * 覆盖窗口候选与主区淘汰候选的频率比较、保护段溢出降级、代数失效、旧代数的查找和命中率统计
+ * <p>
+ * 容量为 10 时窗口段 1 个条目，主区 9 个，其中保护段最多 7 个
+ */
+public class HotNameCacheTest extends TestCase {
+
+    private static final int CAPACITY = 10;
+
+    /**
+     * 测试接纳策略
+     * 主区已满时，窗口挤出的候选只有在访问频率高于试用段最久未用的条目时才被接纳，并淘汰该条目
+     */
+    public void testAdmissionAgainstVictim() {
+        final HotNameCache<String, String> cache = new HotNameCache<>(CAPACITY);
+        // k0..k8 依次被挤出窗口进入试用段，k9 留在窗口，主区已满
+        fill(cache, 0);
+        assertEquals(CAPACITY, cache.size());
+
+        // 未命中的查找也计入频率
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.get("hot", 0));
+        }
+        cache.put("hot", "v-hot", 0);
+        // 挤出 k9：频率为 0，不高于淘汰候选 k0，被丢弃
+        cache.put("cold", "v-cold", 0);
+        // 挤出 hot：频率高于淘汰候选 k0，k0 被淘汰
+        assertEquals(CAPACITY, cache.size());
+        assertNull(cache.get("k0", 0));
+        assertNull(cache.get("k9", 0));
+        assertEquals("v-hot", cache.get("hot", 0));
+        assertEquals("v-cold", cache.get("cold", 0));
+        for (int i = 1; i <= 8; i++) {
+            assertEquals("v" + i, cache.get("k" + i, 0));
+        }
+    }
+
+    /**
+     * 测试保护段溢出降级
+     * 试用段命中的条目晋升到保护段，保护段超过容量时最久未用的条目降回试用段，而不是被移除
+     */
+    public void testProtectedSegmentOverflowDemotes() {
+        final HotNameCache<String, String> cache = new HotNameCache<>(CAPACITY);
+        fill(cache, 0);
+        // 依次命中 k0..k7，晋升第 8 个条目时保护段溢出，k0 降回试用段
+        for (int i = 0; i <= 7; i++) {
+            assertEquals("v" + i, cache.get("k" + i, 0));
+        }
+        assertEquals(CAPACITY, cache.size());
+
+        // 降级的 k0 回到试用段的末尾，试用段最久未用的 k8 成为淘汰候选
+        for (int i = 0; i < 3; i++) {
+            cache.get("hot", 0);
+        }
+        cache.put("hot", "v-hot", 0);
+        cache.put("next", "v-next", 0);
+        assertEquals(CAPACITY, cache.size());
+        assertNull(cache.get("k8", 0));
+        assertEquals("v0", cache.get("k0", 0));
+        assertEquals("v-hot", cache.get("hot", 0));
+    }
+
+    /**
+     * 测试代数失效
+     * 以旧的代数写入的值被丢弃，以新的代数访问或写入时缓存整体清空
+     */
+    public void testStaleGenerationPutIsDropped() {
+        final HotNameCache<String, String> cache = new HotNameCache<>(CAPACITY);
+        cache.put("a", "v-a", 1);
+        assertEquals("v-a", cache.get("a", 1));
+
+        // 查找时索引已经前进到代数 2，计算期间基于代数 1 的结果不能写入
+        assertNull(cache.get("b", 2));
+        assertEquals(0, cache.size());
+        cache.put("b", "stale", 1);
+        assertEquals(0, cache.size());
+        assertNull(cache.get("b", 2));
+
+        cache.put("b", "v-b", 2);
+        assertEquals("v-b", cache.get("b", 2));
+        // 以更新的代数写入同样会清空旧内容
+        cache.put("c", "v-c", 3);
+        assertEquals(1, cache.size());
+        assertNull(cache.get("b", 3));
+    }
+
+    /**
+     * 测试以旧的代数查找
+     * 读到旧代数的查找视为未命中，不清空新代数的内容，也不把缓存的代数退回，之后以新代数写入的值仍然有效
+     */
+    public void testStaleGenerationGetIsMiss() {
+        final HotNameCache<String, String> cache = new HotNameCache<>(CAPACITY);
+        cache.put("a", "v-a", 2);
+        cache.put("b", "v-b", 2);
+
+        assertNull(cache.get("a", 1));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals("v-a", cache.get("a", 2));
+
+        cache.put("c", "v-c", 2);
+        assertEquals(3, cache.size());
+        assertEquals("v-b", cache.get("b", 2));
+        assertEquals("v-c", cache.get("c", 2));
+    }
+
+    /**
+     * 测试命中率统计
+     * 每次查找计为一次命中或未命中，代数变化不重置统计
+     */
+    public void testHitRateAccounting() {
+        final HotNameCache<String, String> cache = new HotNameCache<>(CAPACITY);
+        assertEquals(0.0, cache.getHitRate(), 0.0);
+
+        assertNull(cache.get("a", 0));
+        cache.put("a", "v-a", 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v-a", cache.get("a", 0));
+        }
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.75, cache.getHitRate(), 1e-9);
+
+        assertNull(cache.get("a", 1));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0.6, cache.getHitRate(), 1e-9);
+    }
+
+    /** 写入 k0..k9，写入期间不查找，所有条目的频率为 0 */
+    private static void fill(HotNameCache<String, String> cache, long generation) {
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.put("k" + i, "v" + i, generation);
+        }
+    }
+}
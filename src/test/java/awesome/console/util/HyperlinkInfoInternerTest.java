@@ -0,0 +1,111 @@
+package awesome.console.util;
+
+import com.intellij.execution.filters.HyperlinkInfo;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import junit.framework.TestCase;
+
+/**
+ * HyperlinkInfoInterner 测试类
+ * 覆盖重复链接共享实例、代数变化后失效、按最近使用淘汰和共享计数
+ */
+public class HyperlinkInfoInternerTest extends TestCase {
+
+    /**
+     * 测试重复链接共享实例
+     * 同一位置的文件链接和同一 URL 反复出现时只创建一次，不同行号或列号是不同的链接
+     */
+    public void testRepeatedLinksReturnSameInstance() {
+        final HyperlinkInfoInterner interner = new HyperlinkInfoInterner();
+        final AtomicInteger created = new AtomicInteger();
+
+        final HyperlinkInfo first = interner.intern(HyperlinkInfoInterner.fileKey("/p/src/Main.java", 10, 2), 0, () -> newInfo(created));
+        final HyperlinkInfo second = interner.intern(HyperlinkInfoInterner.fileKey("/p/src/Main.java", 10, 2), 0, () -> newInfo(created));
+        assertSame(first, second);
+        assertNotSame(first, interner.intern(HyperlinkInfoInterner.fileKey("/p/src/Main.java", 11, 2), 0, () -> newInfo(created)));
+        assertNotSame(first, interner.intern(HyperlinkInfoInterner.fileKey("/p/src/Main.java", 10, 3), 0, () -> newInfo(created)));
+
+        final HyperlinkInfo url = interner.intern(HyperlinkInfoInterner.urlKey("https://example.com"), 0, () -> newInfo(created));
+        assertSame(url, interner.intern(HyperlinkInfoInterner.urlKey("https://example.com"), 0, () -> newInfo(created)));
+
+        assertEquals(4, created.get());
+        assertEquals(2, interner.getHitCount());
+        assertEquals(4, interner.getMissCount());
+    }
+
+    /**
+     * 测试代数变化后失效
+     * 配置变化后传入新的代数，之前驻留的实例不再返回
+     */
+    public void testGenerationBumpClearsInternedLinks() {
+        final HyperlinkInfoInterner interner = new HyperlinkInfoInterner();
+        final AtomicInteger created = new AtomicInteger();
+        final Object key = HyperlinkInfoInterner.fileKey("/p/src/Main.java", 10, 0);
+
+        final HyperlinkInfo before = interner.intern(key, 0, () -> newInfo(created));
+        final HyperlinkInfo after = interner.intern(key, 1, () -> newInfo(created));
+        assertNotSame(before, after);
+        assertSame(after, interner.intern(key, 1, () -> newInfo(created)));
+        // 其他键也随代数一起失效
+        final Object url = HyperlinkInfoInterner.urlKey("https://example.com");
+        final HyperlinkInfo urlBefore = interner.intern(url, 1, () -> newInfo(created));
+        assertNotSame(urlBefore, interner.intern(url, 2, () -> newInfo(created)));
+        assertEquals(4, created.get());
+    }
+
+    /**
+     * 测试按最近使用淘汰
+     * 容量满后最久未使用的条目被移除，刚访问过的条目保留
+     */
+    public void testEvictsLeastRecentlyUsed() {
+        final HyperlinkInfoInterner interner = new HyperlinkInfoInterner(2);
+        final AtomicInteger created = new AtomicInteger();
+        final Object a = HyperlinkInfoInterner.urlKey("a");
+        final Object b = HyperlinkInfoInterner.urlKey("b");
+        final Object c = HyperlinkInfoInterner.urlKey("c");
+
+        final HyperlinkInfo infoA = interner.intern(a, 0, () -> newInfo(created));
+        final HyperlinkInfo infoB = interner.intern(b, 0, () -> newInfo(created));
+        // 访问 a 后 b 成为最久未使用的条目
+        assertSame(infoA, interner.intern(a, 0, () -> newInfo(created)));
+        interner.intern(c, 0, () -> newInfo(created));
+        assertSame(infoA, interner.intern(a, 0, () -> newInfo(created)));
+        assertNotSame(infoB, interner.intern(b, 0, () -> newInfo(created)));
+    }
+
+    public void testZeroCapacityDoesNotCache() {
+        final HyperlinkInfoInterner interner = new HyperlinkInfoInterner(0);
+        final AtomicInteger created = new AtomicInteger();
+        final Object key = HyperlinkInfoInterner.urlKey("https://example.com");
+        assertNotSame(interner.intern(key, 0, () -> newInfo(created)), interner.intern(key, 0, () -> newInfo(created)));
+        assertEquals(0, interner.getHitCount());
+        assertEquals(2, interner.getMissCount());
+    }
+
+    /**
+     * 测试共享计数
+     * 同一项目的多个控制台共享计数，但各自驻留自己的实例
+     */
+    public void testSharedCounters() {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final HyperlinkInfoInterner console = new HyperlinkInfoInterner(16, hits, misses);
+        final HyperlinkInfoInterner terminal = new HyperlinkInfoInterner(16, hits, misses);
+        final AtomicInteger created = new AtomicInteger();
+        final Object key = HyperlinkInfoInterner.urlKey("https://example.com");
+
+        final HyperlinkInfo consoleInfo = console.intern(key, 0, () -> newInfo(created));
+        assertSame(consoleInfo, console.intern(key, 0, () -> newInfo(created)));
+        assertNotSame(consoleInfo, terminal.intern(key, 0, () -> newInfo(created)));
+
+        assertEquals(1, hits.sum());
+        assertEquals(2, misses.sum());
+        assertEquals(hits.sum(), terminal.getHitCount());
+    }
+
+    /** 每次返回新的实例，不捕获变量的 lambda 会被复用，因此捕获创建序号 */
+    private static HyperlinkInfo newInfo(AtomicInteger created) {
+        final int id = created.incrementAndGet();
+        return project -> assertTrue(id > 0);
+    }
+}
@@ -0,0 +1,52 @@
+package awesome.console.util;
+
+import java.util.List;
+import java.util.function.Function;
+import junit.framework.TestCase;
+
+/**
+ * PathIndexedSet 测试类
+ * 覆盖按路径移除子树（包括路径本身、与子树同前缀的兄弟目录）、按加入时的路径移除单个元素和计数
+ */
+public class PathIndexedSetTest extends TestCase {
+
+    private static PathIndexedSet<String> newSet(String... paths) {
+        return new PathIndexedSet<>(Function.identity(), List.of(paths));
+    }
+
+    /**
+     * 测试移除子树
+     * 路径本身、直接子元素和所有子孙都被移除，/a-b 和 /ab 这样同前缀的兄弟目录不受影响
+     */
+    public void testRemoveSubtree() {
+        final PathIndexedSet<String> set = newSet("/p/a", "/p/a/x.txt", "/p/a/b/y.txt", "/p/a/b/c/z.txt",
+                "/p/a-b/x.txt", "/p/ab/x.txt", "/p/b.txt");
+        assertEquals(7, set.size());
+        assertEquals(4, set.removeSubtree("/p/a"));
+        assertEquals(List.of("/p/b.txt", "/p/a-b/x.txt", "/p/ab/x.txt"), set.toList());
+        assertEquals(3, set.size());
+        assertEquals(0, set.removeSubtree("/p/a"));
+        assertEquals(0, set.removeSubtree("/q"));
+        assertEquals(1, set.removeSubtree("/p/b.txt"));
+        assertEquals(2, set.size());
+    }
+
+    /**
+     * 测试移除单个元素
+     * 按加入时的路径定位，只有该路径上是同一个元素时才移除；重复加入同一路径不重复计数
+     */
+    public void testRemoveByPath() {
+        final PathIndexedSet<String> set = newSet("/p/a.txt", "/p/b.txt");
+        set.add("/p/a.txt");
+        assertEquals(2, set.size());
+        assertFalse(set.remove("/p/c.txt", "/p/c.txt"));
+        assertFalse(set.remove("/p/a.txt", "/p/b.txt"));
+        assertTrue(set.remove("/p/a.txt", "/p/a.txt"));
+        assertEquals(1, set.size());
+        assertEquals(List.of("/p/b.txt"), set.stream().toList());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+}
@@ -0,0 +1,166 @@
+package awesome.console.util;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * PathNormalizer 测试类
+ * 在语料上与 {@code Paths.get(basePath, path).normalize()}（替换前 resolveFile 的实现）逐一比较，
+ * 覆盖 . 和 ..、相对路径开头的 ..、盘符根、~、NUL，以及 Windows 规则下的 UNC 路径和非法字符
+ * 两者的耗时对比见 src/jmh 中的 PathNormalizerBenchmark
+ * <p>
+ * 对照实现使用当前平台的 Path，因此语料只使用 / 作为分隔符；反斜杠和盘符单独断言
+ */
+public class PathNormalizerTest extends TestCase {
+
+    private static final String[] BASES = {null, "", "/", "/p/q", "/p/q/", "p/q"};
+
+    private static final String[] FIXED_CORPUS = {
+            "", ".", "..", "./", "../", "/", "//", "///a//b//",
+            "a", "a/", "a/b", "a//b", "a/./b", "a/../b", "a/b/..", "a/b/../..", "a/b/../../..",
+            "./a", "././a/.", "../a", "../../a", "../a/../..", "a/../../b", "..a", "a..", ".../a", "a/.../..",
+            "/a", "/a/", "/a/b/../c", "/..", "/../a", "/a/../..", "/./a/./", "/a/b/./../c/.",
+            "src/main/java/Main.java", "./src/../src/Main.java", "../other-project/build.gradle",
+            "a\0b", "\0/a/\0../b", "a/\0\0/b", "\0",
+    };
+
+    /**
+     * 测试与 Paths.normalize() 一致
+     * 固定语料加上由 .、..、空段和普通名称随机组成的语料，与每种基础路径组合
+     */
+    public void testMatchesPathsNormalizeOnCorpus() {
+        final List<String> corpus = corpus();
+        int compared = 0;
+        for (String base : BASES) {
+            for (String path : corpus) {
+                assertMatchesReference(base, path);
+                compared++;
+            }
+        }
+        assertTrue(compared > 1000);
+    }
+
+    /**
+     * 测试开头的 ~
+     * 只有单独的 ~ 或 ~/ 开头时展开为用户目录，并忽略基础路径
+     */
+    public void testTildeExpandsToUserHome() {
+        final String home = SystemUtils.getUserHome();
+        assertEquals(reference(home, ""), normalize("/p", "~"));
+        assertEquals(reference(home, "a/b"), normalize("/p", "~/a/b"));
+        assertEquals(reference(home, "a"), normalize(null, "~/x/../a"));
+        assertEquals(reference(home, "../a"), normalize("/p", "~/../a"));
+        // ~user 和中间的 ~ 不展开
+        assertEquals("/p/~user/a", normalize("/p", "~user/a"));
+        assertEquals("/p/a/~", normalize("/p", "a/~"));
+    }
+
+    /**
+     * 测试盘符根
+     * 盘符加 / 与 / 一样是根，.. 不能越过；反斜杠统一为 /
+     */
+    public void testDriveRoots() {
+        for (boolean windows : new boolean[]{false, true}) {
+            assertEquals("C:/b", PathNormalizer.normalize(null, "C:/a/../b", windows).path());
+            assertEquals("C:/", PathNormalizer.normalize(null, "C:/..", windows).path());
+            assertEquals("C:/", PathNormalizer.normalize(null, "C:\\..\\..\\.", windows).path());
+            assertEquals("c:/a/b", PathNormalizer.normalize(null, "c:\\a\\.\\b\\", windows).path());
+            assertEquals("D:/x", PathNormalizer.normalize("C:/p/q", "D:/x", windows).path());
+            assertEquals("C:/x", PathNormalizer.normalize("C:\\p\\q", "..\\..\\..\\x", windows).path());
+            assertEquals("C:/p/src/Main.java", PathNormalizer.normalize("C:/p", ".\\src\\Main.java", windows).path());
+        }
+        // 不带 / 的单独盘符只在非 Windows 规则下作为根保留，Windows 规则下盘符后的冒号只允许出现在绝对路径中
+        assertEquals("C:", PathNormalizer.normalize(null, "C:", false).path());
+        assertEquals(PathNormalizer.Reason.ILLEGAL_CHARACTER, PathNormalizer.normalize(null, "C:", true).reason());
+    }
+
+    /**
+     * 测试 Windows 规则下的 UNC 路径
+     * 拼接后以两个分隔符开头的路径不处理，避免访问网络；非 Windows 规则下按普通绝对路径折叠
+     */
+    public void testWindowsUncPaths() {
+        for (String path : new String[]{"\\\\server\\share\\a.txt", "//server/share/a.txt", "\\/server/share", "\\\\"}) {
+            final PathNormalizer.Result result = PathNormalizer.normalize("C:/p", path, true);
+            assertEquals(path, PathNormalizer.Reason.UNC_PATH, result.reason());
+            assertNull(result.path());
+            assertFalse(result.isOk());
+        }
+        assertEquals("/server/share/a.txt", PathNormalizer.normalize(null, "\\\\server\\share\\a.txt", false).path());
+        // NUL 在检查前去除
+        assertEquals(PathNormalizer.Reason.UNC_PATH, PathNormalizer.normalize(null, "/\0/server", true).reason());
+    }
+
+    /**
+     * 测试 Windows 规则下的非法字符
+     * <>"|?* 和控制字符在任何位置都不允许，冒号只允许作为绝对路径的盘符分隔符；非 Windows 规则下原样保留
+     */
+    public void testWindowsIllegalCharacters() {
+        for (String path : new String[]{"a<b", "a>b", "a\"b", "a|b", "a?b", "a*b", "a\tb", "a\u001fb", "a:b", "C:/a:b", "/C:/a"}) {
+            assertEquals(path, PathNormalizer.Reason.ILLEGAL_CHARACTER, PathNormalizer.normalize("C:/p", path, true).reason());
+            assertTrue(path, PathNormalizer.normalize("/p", path, false).isOk());
+        }
+        // 基础路径中的字符不检查，NUL 不是非法字符而是被去除
+        assertEquals("C:/p:q/a", PathNormalizer.normalize("C:/p:q", "a", true).path());
+        assertEquals("C:/p/ab", PathNormalizer.normalize("C:/p", "a\0b", true).path());
+        assertEquals("C:/a b/c.txt", PathNormalizer.normalize(null, "C:\\a b\\c.txt", true).path());
+    }
+
+    public void testEmptyResult() {
+        for (String path : new String[]{"", ".", "./", "a/..", "\0", "./a/../."}) {
+            final PathNormalizer.Result result = PathNormalizer.normalize(null, path, false);
+            assertEquals(path, PathNormalizer.Reason.EMPTY, result.reason());
+            assertNull(result.path());
+        }
+        assertEquals("/p", PathNormalizer.normalize("/p", "", false).path());
+    }
+
+    private static List<String> corpus() {
+        final List<String> corpus = new ArrayList<>(List.of(FIXED_CORPUS));
+        final String[] segments = {"a", "b.txt", "src", ".", "..", "", "...", ".hidden", "\0"};
+        final Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            final StringBuilder path = new StringBuilder();
+            if (random.nextInt(3) == 0) {
+                path.append('/');
+            }
+            final int count = 1 + random.nextInt(6);
+            for (int j = 0; j < count; j++) {
+                if (j > 0) {
+                    path.append('/');
+                }
+                path.append(segments[random.nextInt(segments.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                path.append('/');
+            }
+            corpus.add(path.toString());
+        }
+        return corpus;
+    }
+
+    private static void assertMatchesReference(String base, String path) {
+        final PathNormalizer.Result result = PathNormalizer.normalize(base, path, false);
+        final String expected = reference(base, path);
+        final String message = String.format("base[%s] path[%s]", base, path.replace("\0", "\\0"));
+        if (expected.isEmpty()) {
+            assertEquals(message, PathNormalizer.Reason.EMPTY, result.reason());
+        } else {
+            assertEquals(message, PathNormalizer.Reason.OK, result.reason());
+            assertEquals(message, expected, result.path());
+        }
+    }
+
+    /** 替换前 resolveFile 的做法：去除 NUL，绝对路径不拼接基础路径，再交给 Paths.normalize() */
+    private static String reference(String base, String path) {
+        path = path.replace("\0", "");
+        final String basePath = path.startsWith("/") || null == base ? "" : base;
+        return Paths.get(basePath, path).normalize().toString();
+    }
+
+    private static String normalize(String base, String path) {
+        return PathNormalizer.normalize(base, path, false).path();
+    }
+}
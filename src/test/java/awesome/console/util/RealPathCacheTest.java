@@ -0,0 +1,191 @@
+package awesome.console.util;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.openapi.vfs.newvfs.impl.VfsRootAccess;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * RealPathCache 测试类
+ * 在临时目录中创建符号链接，覆盖经过链接目录的解析、文件本身是链接、含 . 和 .. 的路径，
+ * 以及重命名、移动、删除、链接目标变更时的失效和单批事件过多时的整体清空
+ * <p>
+ * 缓存的失效只由 VFS 事件驱动，测试直接修改磁盘后手动传入事件，磁盘变化而没有事件时缓存保持旧的解析结果
+ */
+public class RealPathCacheTest extends BasePlatformTestCase {
+
+    private final RealPathCache cache = RealPathCache.getInstance();
+
+    /** 临时目录的真实路径 */
+    private Path root;
+
+    /** 链接目录 root/link 原来指向的目录 */
+    private Path real;
+
+    /** 链接目录 root/link 重新指向的目录 */
+    private Path other;
+
+    private Path link;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        root = Files.createTempDirectory("real-path-cache").toRealPath();
+        VfsRootAccess.allowRootAccess(getTestRootDisposable(), root.toString());
+        real = createTree("real");
+        other = createTree("other");
+        link = Files.createSymbolicLink(root.resolve("link"), real);
+        cache.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            cache.clear();
+            FileUtil.delete(root.toFile());
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    /** 创建 root/name/dir/A.txt，返回 root/name */
+    private Path createTree(String name) throws IOException {
+        final Path dir = Files.createDirectories(root.resolve(name).resolve("dir"));
+        Files.writeString(dir.resolve("A.txt"), name);
+        return dir.getParent();
+    }
+
+    @NotNull
+    private static VirtualFile refresh(Path path) {
+        final VirtualFile file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path);
+        assertNotNull(path.toString(), file);
+        return file;
+    }
+
+    /** 把链接 root/link 重新指向 other */
+    private void retargetLink() throws IOException {
+        Files.delete(link);
+        Files.createSymbolicLink(link, other);
+    }
+
+    /**
+     * 测试经过链接目录解析
+     * 父目录的真实路径缓存后，同一目录下的其他文件复用缓存，不在磁盘上的文件同样按父目录拼接
+     */
+    public void testResolveThroughLinkedDirectory() {
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        assertEquals(real.resolve("dir/Missing.txt"), cache.resolve(link.resolve("dir/Missing.txt")));
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(refresh(link.resolve("dir/A.txt"))));
+        assertEquals(root.resolve("plain.txt"), cache.resolve(root.resolve("plain.txt")));
+        assertNull("Missing parent directory", cache.resolve(root.resolve("missing/A.txt")));
+    }
+
+    /**
+     * 测试文件本身是链接
+     * 文件的真实路径是链接的目标，而不是父目录的真实路径加上链接的名称
+     */
+    public void testResolveFileThatIsLink() throws IOException {
+        final Path alias = Files.createSymbolicLink(real.resolve("dir/Alias.txt"), other.resolve("dir/A.txt"));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(alias));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/Alias.txt")));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(refresh(link.resolve("dir/Alias.txt"))));
+    }
+
+    /**
+     * 测试含 . 和 .. 的路径
+     * .. 在链接目录之后指向链接目标的父目录，不能按字面消去，直接由文件系统解析
+     */
+    public void testResolveDotSegments() throws IOException {
+        final Path nested = Files.createDirectories(root.resolve("nested"));
+        Files.createSymbolicLink(nested.resolve("up"), real.resolve("dir"));
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/./A.txt")));
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/../dir/A.txt")));
+        // 按字面消去会得到 root/nested/dir/A.txt，按链接解析是 real/dir/A.txt
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(nested.resolve("up/../dir/A.txt")));
+        assertNull("Literal path does not exist", cache.resolve(nested.resolve("dir/A.txt")));
+    }
+
+    /**
+     * 测试链接目标变更时失效
+     * 没有事件时保持旧的解析结果，链接目标变更事件使经过该链接缓存的目录失效
+     */
+    public void testInvalidateOnSymlinkTargetChange() throws IOException {
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        retargetLink();
+        assertEquals("Cached without an event", real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+
+        final VFileEvent event = new VFilePropertyChangeEvent(null, refresh(link), VirtualFile.PROP_SYMLINK_TARGET,
+                real.toString(), other.toString());
+        cache.invalidate(List.of(event));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+    }
+
+    /**
+     * 测试重命名时失效
+     * 事件的旧路径由父目录和旧名称得到，旧路径上重新出现的链接按新的目标解析
+     */
+    public void testInvalidateOnRename() throws IOException {
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        final Path renamed = Files.move(link, root.resolve("renamed"));
+        Files.createSymbolicLink(link, other);
+
+        final VFileEvent event = new VFilePropertyChangeEvent(null, refresh(renamed), VirtualFile.PROP_NAME,
+                "link", "renamed");
+        cache.invalidate(List.of(event));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(renamed.resolve("dir/A.txt")));
+    }
+
+    /**
+     * 测试移动和删除时失效
+     * 移动事件按移动前的路径失效；真实路径位于被删除目录之下的条目也被移除
+     */
+    public void testInvalidateOnMoveAndDelete() throws IOException {
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        final Path target = Files.createDirectories(root.resolve("target"));
+        final VFileEvent move = new VFileMoveEvent(null, refresh(link), refresh(target));
+        Files.move(link, target.resolve("link"));
+        Files.createSymbolicLink(link, other);
+        cache.invalidate(List.of(move));
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+
+        // 经过链接缓存的条目的真实路径在 other 之下，删除 other/dir 后按删除事件移除
+        final VFileEvent delete = new VFileDeleteEvent(null, refresh(other.resolve("dir")));
+        FileUtil.delete(other.resolve("dir").toFile());
+        Files.delete(link);
+        Files.createSymbolicLink(link, real);
+        cache.invalidate(List.of(delete));
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+    }
+
+    /**
+     * 测试单批事件过多时整体清空
+     * 不超过 16 个影响缓存的事件按路径逐个失效，无关的条目保留；超过时整体清空
+     */
+    public void testClearAfterTooManyEvents() throws IOException {
+        final List<VFileEvent> events = new ArrayList<>();
+        final Path unrelated = Files.createDirectories(root.resolve("unrelated"));
+        for (int i = 0; i < 17; i++) {
+            events.add(new VFileDeleteEvent(null, refresh(Files.createFile(unrelated.resolve("f" + i)))));
+        }
+
+        assertEquals(real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+        retargetLink();
+        cache.invalidate(events.subList(0, 16));
+        assertEquals("Unrelated events keep the entry", real.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+
+        cache.invalidate(events);
+        assertEquals(other.resolve("dir/A.txt"), cache.resolve(link.resolve("dir/A.txt")));
+    }
+}